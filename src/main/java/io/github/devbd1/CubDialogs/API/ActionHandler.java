@@ -0,0 +1,15 @@
+package io.github.devbd1.CubDialogs.API;
+
+import org.bukkit.entity.Player;
+
+/**
+ * A compiled button action, run when a player clicks the button.
+ */
+@FunctionalInterface
+public interface ActionHandler {
+
+    /**
+     * @param player the player who clicked
+     */
+    void execute(Player player);
+}
@@ -0,0 +1,22 @@
+package io.github.devbd1.CubDialogs.API;
+
+/**
+ * Execution statistics of one action type since the plugin was enabled.
+ * Only actions that run on the server are counted; client-side actions (open_url, copy_to_clipboard,
+ * suggest_command, show_dialog) never reach the server.
+ *
+ * @param type       the action type name
+ * @param executions number of clicks handled
+ * @param failures   number of executions that threw
+ * @param totalNanos summed execution time
+ * @param maxNanos   longest single execution
+ */
+public record ActionStats(String type, long executions, long failures, long totalNanos, long maxNanos) {
+
+    /**
+     * @return mean execution time in nanoseconds, 0 if never executed
+     */
+    public long averageNanos() {
+        return executions == 0 ? 0 : totalNanos / executions;
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.devbd1.CubDialogs.API;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * A button action type, e.g. teleport, give_item or play_sound, used by "action:" sections with
+ * "type: &lt;name&gt;". Registered through {@link CubDialogsAPI#registerActionType(String, ActionType)}.
+ *
+ * {@link #compile} reads and validates the section once per button and dialog load; the returned
+ * handler runs on every click, on the server thread.
+ */
+@FunctionalInterface
+public interface ActionType {
+
+    /**
+     * @param config the button's "action" section
+     * @return what runs when the button is clicked, or null to leave the button without action
+     * @throws IllegalArgumentException if the section is invalid; the button is left without action
+     */
+    ActionHandler compile(ConfigurationSection config);
+}
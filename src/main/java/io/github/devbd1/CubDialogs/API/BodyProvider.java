@@ -0,0 +1,25 @@
+package io.github.devbd1.CubDialogs.API;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Supplies the text of a "provider" dialog body, e.g. a leaderboard, server status or player stats.
+ *
+ * Providers are never called on the open path. CubDialogs calls them off the server thread when the
+ * cached value is missing or expired, and shows the cached value (or the body's fallback text)
+ * until the returned future completes. Futures that do not complete within the configured timeout
+ * are abandoned.
+ */
+@FunctionalInterface
+public interface BodyProvider {
+
+    /**
+     * Computes the body text.
+     *
+     * @param request who the body is for and its parameters from the dialog file
+     * @return a future with the text to show; completing with null keeps the fallback
+     */
+    CompletableFuture<Component> provide(BodyRequest request);
+}
@@ -0,0 +1,34 @@
+package io.github.devbd1.CubDialogs.API;
+
+/**
+ * Registry of named body providers, used by "provider" bodies in dialog files:
+ *
+ * <pre>
+ * bodies:
+ *   - type: "provider"
+ *     provider: "leaderboard"
+ *     params:
+ *       stat: "kills"
+ *     scope: "global"      # or "player"
+ *     ttl_seconds: 30
+ *     fallback: "&amp;7Loading..."
+ * </pre>
+ */
+public interface BodyProviderRegistry {
+
+    /**
+     * Registers a provider under a name. Names are case-insensitive; registering a name again
+     * replaces the earlier provider and discards its cached values.
+     *
+     * @param name     provider name used in dialog files
+     * @param provider the provider
+     * @return a Registration handle that removes the provider again
+     * @throws NullPointerException if name or provider is null
+     */
+    Registration register(String name, BodyProvider provider);
+
+    /**
+     * @return true if a provider is registered under the name
+     */
+    boolean isRegistered(String name);
+}
@@ -0,0 +1,25 @@
+package io.github.devbd1.CubDialogs.API;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A request for body text passed to a {@link BodyProvider}.
+ *
+ * @param provider   provider name as written in the dialog file, lower-cased
+ * @param viewer     the player the body is built for, or null for bodies cached for everyone ("scope: global")
+ * @param viewerName name of that player, or null
+ * @param params     the body's "params" section as strings
+ */
+public record BodyRequest(String provider, UUID viewer, String viewerName, Map<String, String> params) {
+    public BodyRequest {
+        params = params == null ? Map.of() : Map.copyOf(params);
+    }
+
+    /**
+     * @return true if the result is cached for this viewer only
+     */
+    public boolean isPerPlayer() {
+        return viewer != null;
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.devbd1.CubDialogs.API;
+
+import io.papermc.paper.registry.data.dialog.body.DialogBody;
+import org.bukkit.configuration.Configuration;
+
+/**
+ * Builds a dialog body from its entry under "bodies:" in a dialog file.
+ * Registered by name through {@link CubDialogsAPI#registerBodyType(String, BodyType)}; the entry's
+ * "type" selects the builder.
+ */
+@FunctionalInterface
+public interface BodyType {
+
+    /**
+     * @param config the body entry; read-only and shared between builds
+     * @return the body, or null to leave it out
+     */
+    DialogBody build(Configuration config);
+}
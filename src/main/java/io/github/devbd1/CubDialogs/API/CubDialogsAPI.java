@@ -1,5 +1,13 @@
 package io.github.devbd1.CubDialogs.API;
 
+import io.github.devbd1.CubDialogs.dialog.components.ActionMetrics;
+import io.github.devbd1.CubDialogs.dialog.components.BodyBuilder;
+import io.github.devbd1.CubDialogs.dialog.components.ButtonBuilder;
+import io.github.devbd1.CubDialogs.dialog.components.InputBuilder;
+import io.github.devbd1.CubDialogs.dialog.types.TypeInterface;
+import io.github.devbd1.CubDialogs.dialog.types.TypeRegistrar;
+
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -12,6 +20,8 @@ import java.util.Objects;
 public final class CubDialogsAPI {
 
     private static volatile DialogActionRegistry REGISTRY;
+    private static volatile DialogOpener OPENER;
+    private static volatile BodyProviderRegistry BODIES;
     private static volatile String API_VERSION = "1.0.0";
 
     private CubDialogsAPI() {
@@ -31,6 +41,95 @@ public final class CubDialogsAPI {
         return reg;
     }
 
+    /**
+     * Returns the bulk dialog opener.
+     *
+     * @throws IllegalStateException if the API has not been bootstrapped by the plugin yet
+     */
+    public static DialogOpener opener() {
+        DialogOpener opener = OPENER;
+        if (opener == null) {
+            throw new IllegalStateException("CubDialogs API is not available yet. Is the plugin enabled?");
+        }
+        return opener;
+    }
+
+    /**
+     * Returns the registry of body providers used by "provider" dialog bodies.
+     *
+     * @throws IllegalStateException if the API has not been bootstrapped by the plugin yet
+     */
+    public static BodyProviderRegistry bodies() {
+        BodyProviderRegistry bodies = BODIES;
+        if (bodies == null) {
+            throw new IllegalStateException("CubDialogs API is not available yet. Is the plugin enabled?");
+        }
+        return bodies;
+    }
+
+    /**
+     * Registers a dialog type, used by dialog files with "type: &lt;name&gt;". Names are case-insensitive;
+     * registering a built-in name replaces it until the registration is removed. Registrations made by
+     * an addon are removed when the addon is unloaded.
+     *
+     * @param handler the type handler
+     * @return a Registration handle that removes the type again
+     * @throws NullPointerException if handler or its type name is null
+     */
+    public static Registration registerType(TypeInterface handler) {
+        return TypeRegistrar.registerHandler(handler);
+    }
+
+    /**
+     * @return true if a handler is registered for the dialog type name
+     */
+    public static boolean isTypeRegistered(String typeName) {
+        return typeName != null && TypeRegistrar.isSupported(typeName);
+    }
+
+    /**
+     * Registers a body type, used by entries under "bodies:" with "type: &lt;name&gt;". Names are
+     * case-insensitive; dialogs already loaded pick the type up on their next open. Registering a
+     * built-in name replaces it until the registration is removed.
+     *
+     * @return a Registration handle that removes the type again
+     * @throws NullPointerException if name or builder is null
+     */
+    public static Registration registerBodyType(String name, BodyType builder) {
+        return BodyBuilder.TYPES.register(name, builder);
+    }
+
+    /**
+     * Registers an input type, used by entries under "inputs:" with "type: &lt;name&gt;". Names are
+     * case-insensitive; dialogs already loaded pick the type up on their next open. Registering a
+     * built-in name replaces it until the registration is removed.
+     *
+     * @return a Registration handle that removes the type again
+     * @throws NullPointerException if name or builder is null
+     */
+    public static Registration registerInputType(String name, InputType builder) {
+        return InputBuilder.TYPES.register(name, builder);
+    }
+
+    /**
+     * Registers a button action type, used by "action:" sections with "type: &lt;name&gt;". Names are
+     * case-insensitive; registering a built-in name replaces it until the registration is removed.
+     * Actions of addon types run on the server, so they cannot be used in static dialogs.
+     *
+     * @return a Registration handle that removes the type again
+     * @throws NullPointerException if name or action type is null
+     */
+    public static Registration registerActionType(String name, ActionType actionType) {
+        return ButtonBuilder.registerActionType(name, actionType);
+    }
+
+    /**
+     * @return execution counts and latency of every server-side action type used so far, sorted by type
+     */
+    public static List<ActionStats> actionStats() {
+        return ActionMetrics.snapshot();
+    }
+
     /**
      * @return true if the API is available (plugin has bootstrapped it), false otherwise
      */
@@ -54,12 +153,40 @@ public final class CubDialogsAPI {
      * @throws IllegalStateException if the API is already initialized
      */
     public static void bootstrap(DialogActionRegistry registry, String apiVersion) {
+        bootstrap(registry, null, apiVersion);
+    }
+
+    /**
+     * Initializes the API with a registry, a bulk opener and version.
+     *
+     * @param registry   the registry implementation
+     * @param opener     the bulk opener implementation, may be null if not supported
+     * @param apiVersion the API version string; if null/blank, defaults to "unknown"
+     * @throws IllegalStateException if the API is already initialized
+     */
+    public static void bootstrap(DialogActionRegistry registry, DialogOpener opener, String apiVersion) {
+        bootstrap(registry, opener, null, apiVersion);
+    }
+
+    /**
+     * Initializes the API with a registry, a bulk opener, a body provider registry and version.
+     *
+     * @param registry   the registry implementation
+     * @param opener     the bulk opener implementation, may be null if not supported
+     * @param bodies     the body provider registry, may be null if not supported
+     * @param apiVersion the API version string; if null/blank, defaults to "unknown"
+     * @throws IllegalStateException if the API is already initialized
+     */
+    public static void bootstrap(DialogActionRegistry registry, DialogOpener opener, BodyProviderRegistry bodies,
+                                 String apiVersion) {
         Objects.requireNonNull(registry, "registry");
         synchronized (CubDialogsAPI.class) {
             if (REGISTRY != null) {
                 throw new IllegalStateException("CubDialogs API is already initialized");
             }
             REGISTRY = registry;
+            OPENER = opener;
+            BODIES = bodies;
             API_VERSION = (apiVersion != null && !apiVersion.isBlank()) ? apiVersion : "unknown";
         }
     }
@@ -70,6 +197,8 @@ public final class CubDialogsAPI {
     public static void shutdown() {
         synchronized (CubDialogsAPI.class) {
             REGISTRY = null;
+            OPENER = null;
+            BODIES = null;
             API_VERSION = "unknown";
         }
     }
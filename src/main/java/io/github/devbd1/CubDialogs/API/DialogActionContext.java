@@ -1,5 +1,8 @@
 package io.github.devbd1.CubDialogs.API;
 
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+
 import java.util.Optional;
 import java.util.UUID;
 
@@ -31,9 +34,26 @@ public interface DialogActionContext {
      */
     Optional<String> playerName();
 
+    /**
+     * The dialog session the triggering player had open when the action fired,
+     * if CubDialogs opened that dialog.
+     */
+    default Optional<DialogSession> session() {
+        return Optional.empty();
+    }
+
     /**
      * Send a message back to the triggering player.
      * Implementations ensure this runs safely on the server thread.
      */
     void reply(String message);
+
+    /**
+     * Send a pre-built component back to the triggering player.
+     * Avoids re-parsing legacy formatting codes; multiple replies in the same tick
+     * may be merged into a single message.
+     */
+    default void reply(Component message) {
+        reply(LegacyComponentSerializer.legacySection().serialize(message));
+    }
 }
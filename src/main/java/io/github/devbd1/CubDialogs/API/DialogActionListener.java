@@ -1,5 +1,7 @@
 package io.github.devbd1.CubDialogs.API;
 
+import java.util.Objects;
+
 /**
  * Functional listener for handling a dialog custom action.
  */
@@ -12,4 +14,36 @@ public interface DialogActionListener {
      * @param context action context including key, payload, and reply helper
      */
     void onAction(DialogActionContext context);
+
+    /**
+     * Whether the registry may move this listener off the server thread once it is
+     * consistently slower than the configured budget. Only opt in if the listener does
+     * not touch Bukkit state that requires the main thread (replies are always safe).
+     *
+     * @return true to allow automatic async offloading, false by default
+     */
+    default boolean allowAsyncOffload() {
+        return false;
+    }
+
+    /**
+     * Wraps a listener so that it opts in to automatic async offloading.
+     *
+     * @param listener the listener to wrap
+     * @return a listener that delegates to the given one and allows offloading
+     */
+    static DialogActionListener offloadable(DialogActionListener listener) {
+        Objects.requireNonNull(listener, "listener");
+        return new DialogActionListener() {
+            @Override
+            public void onAction(DialogActionContext context) {
+                listener.onAction(context);
+            }
+
+            @Override
+            public boolean allowAsyncOffload() {
+                return true;
+            }
+        };
+    }
 }
@@ -0,0 +1,46 @@
+package io.github.devbd1.CubDialogs.API;
+
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Opens dialogs to many players at once.
+ * Opens are queued and delivered under a per-tick time budget; the dialog is built once and shared,
+ * and a player who is queued twice only receives the latest open.
+ */
+public interface DialogOpener {
+
+    /**
+     * Queues a dialog for the given players.
+     *
+     * @param dialogId    the dialog id as defined in the dialogs folder
+     * @param players     the players to open the dialog for
+     * @param attachments optional values attached to each resulting session, may be null
+     * @return the number of players queued
+     * @throws IllegalArgumentException if the dialog does not exist
+     */
+    int open(String dialogId, Collection<? extends Player> players, Map<String, Object> attachments);
+
+    /**
+     * Queues a dialog for the given players without session attachments.
+     */
+    default int open(String dialogId, Collection<? extends Player> players) {
+        return open(dialogId, players, null);
+    }
+
+    /**
+     * Queues a dialog for every player matched by a target selector (e.g. "@a", "@a[perm=vip]",
+     * "@a[world=spawn]" or a player name). Must be called on the server thread.
+     *
+     * @return the number of players queued
+     * @throws IllegalArgumentException if the dialog does not exist or the selector is malformed
+     */
+    int open(String dialogId, String selector);
+
+    /**
+     * @return the number of opens waiting to be delivered
+     */
+    int pending();
+}
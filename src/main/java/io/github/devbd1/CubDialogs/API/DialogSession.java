@@ -0,0 +1,48 @@
+package io.github.devbd1.CubDialogs.API;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The dialog a player currently has open, as recorded by CubDialogs when it was shown.
+ * Lets listeners tell which dialog, configuration snapshot and open parameters a click belongs to.
+ *
+ * Implemented by the plugin; attachments may be read and written by consumers.
+ */
+public interface DialogSession {
+
+    /**
+     * Id of the dialog that was opened (relative path under /dialogs without .yml).
+     */
+    String dialogId();
+
+    /**
+     * Generation of the dialog configuration snapshot the dialog was built from.
+     * Increases every time dialogs are reloaded.
+     */
+    long generation();
+
+    /**
+     * Epoch milliseconds at which the dialog was shown.
+     */
+    long openedAt();
+
+    /**
+     * @param key attachment key
+     * @return the attachment value, or empty if absent
+     */
+    Optional<Object> attachment(String key);
+
+    /**
+     * Stores an arbitrary value on this session. Null removes the attachment.
+     *
+     * @param key   attachment key
+     * @param value attachment value or null
+     */
+    void attach(String key, Object value);
+
+    /**
+     * @return an unmodifiable snapshot of all attachments
+     */
+    Map<String, Object> attachments();
+}
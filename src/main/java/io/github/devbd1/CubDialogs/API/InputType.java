@@ -0,0 +1,22 @@
+package io.github.devbd1.CubDialogs.API;
+
+import io.papermc.paper.registry.data.dialog.input.DialogInput;
+import net.kyori.adventure.text.Component;
+import org.bukkit.configuration.Configuration;
+
+/**
+ * Builds a dialog input from its entry under "inputs:" in a dialog file.
+ * Registered by name through {@link CubDialogsAPI#registerInputType(String, InputType)}; the entry's
+ * "type" selects the builder.
+ */
+@FunctionalInterface
+public interface InputType {
+
+    /**
+     * @param id     the input's "id", never blank
+     * @param label  the parsed "label"
+     * @param config the input entry; read-only and shared between builds unless an initial value was overridden
+     * @return the input, or null to leave it out
+     */
+    DialogInput build(String id, Component label, Configuration config);
+}
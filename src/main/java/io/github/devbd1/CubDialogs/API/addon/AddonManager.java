@@ -2,6 +2,10 @@ package io.github.devbd1.CubDialogs.API.addon;
 
 import io.github.devbd1.CubDialogs.API.addon.AddonContext;
 import io.github.devbd1.CubDialogs.API.addon.CubDialogsAddon;
+import io.github.devbd1.CubDialogs.dialog.components.BodyBuilder;
+import io.github.devbd1.CubDialogs.dialog.components.ButtonBuilder;
+import io.github.devbd1.CubDialogs.dialog.components.InputBuilder;
+import io.github.devbd1.CubDialogs.dialog.types.TypeRegistrar;
 import org.bukkit.Server;
 import org.bukkit.plugin.Plugin;
 
@@ -168,6 +172,15 @@ public class AddonManager {
             loadedAddon.instance.onDisable();
             logger.info("Addon '" + addonId + "' disabled successfully");
         } finally {
+            // Drop registrations the addon left behind; their classes are about to go away
+            int types = TypeRegistrar.unregisterAll(loadedAddon.classLoader)
+                    + BodyBuilder.TYPES.unregisterAll(loadedAddon.classLoader)
+                    + InputBuilder.TYPES.unregisterAll(loadedAddon.classLoader)
+                    + ButtonBuilder.TYPES.unregisterAll(loadedAddon.classLoader);
+            if (types > 0) {
+                logger.info("Removed " + types + " dialog, body, input or action type(s) registered by addon '" + addonId + "'");
+            }
+
             // Always try to close the class loader
             loadedAddon.classLoader.close();
         }
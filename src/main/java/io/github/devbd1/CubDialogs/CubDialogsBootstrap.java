@@ -0,0 +1,82 @@
+package io.github.devbd1.CubDialogs;
+
+import io.github.devbd1.CubDialogs.dialog.DialogConfigManager;
+import io.github.devbd1.CubDialogs.dialog.DialogMeta;
+import io.papermc.paper.dialog.Dialog;
+import io.papermc.paper.plugin.bootstrap.BootstrapContext;
+import io.papermc.paper.plugin.bootstrap.PluginBootstrap;
+import io.papermc.paper.plugin.lifecycle.event.types.LifecycleEvents;
+import io.papermc.paper.registry.RegistryKey;
+import io.papermc.paper.registry.event.RegistryEvents;
+import io.papermc.paper.registry.keys.DialogKeys;
+import io.papermc.paper.registry.keys.tags.DialogTagKeys;
+import io.papermc.paper.tag.TagEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Compiles dialogs marked "static: true" into the server's dialog registry.
+ * Clients receive registry dialogs once while joining, after which opening one or linking to it
+ * with show_dialog only sends its key instead of the whole definition. Static dialogs can also be
+ * tagged as quick actions or pause screen additions, which the client opens without the server.
+ */
+@SuppressWarnings("UnstableApiUsage")
+public final class CubDialogsBootstrap implements PluginBootstrap {
+
+    @Override
+    public void bootstrap(BootstrapContext context) {
+        Logger logger = Logger.getLogger("CubDialogs");
+        DialogConfigManager.initBootstrap(logger, context.getDataDirectory());
+
+        context.getLifecycleManager().registerEventHandler(RegistryEvents.DIALOG.compose().newHandler(event -> {
+            int registered = 0;
+            for (String id : DialogConfigManager.getStaticDialogIds()) {
+                DialogConfigManager.DialogParts parts;
+                try {
+                    parts = DialogConfigManager.compileStatic(id);
+                } catch (RuntimeException | StackOverflowError e) {
+                    // A broken dialog must not take server startup down with it
+                    logger.log(Level.WARNING, "Failed to compile static dialog " + id + ", it will be built per open", e);
+                    continue;
+                }
+                if (parts == null) {
+                    logger.warning("Could not compile static dialog " + id + ", it will be built per open");
+                    continue;
+                }
+
+                event.registry().register(
+                        DialogKeys.create(DialogConfigManager.staticKey(id)),
+                        builder -> builder.base(parts.base()).type(parts.type())
+                );
+                DialogConfigManager.markRegisteredStatic(id);
+                registered++;
+            }
+
+            if (registered > 0) {
+                logger.info("Registered " + registered + " static dialog(s)");
+            }
+        }));
+
+        context.getLifecycleManager().registerEventHandler(LifecycleEvents.TAGS.preFlatten(RegistryKey.DIALOG), event -> {
+            List<TagEntry<Dialog>> quickActions = new ArrayList<>();
+            List<TagEntry<Dialog>> pauseScreen = new ArrayList<>();
+            for (String id : DialogConfigManager.getStaticDialogIds()) {
+                DialogMeta meta = DialogConfigManager.getMeta(id);
+                // Optional entries, so a static dialog that failed to compile does not break the tag
+                TagEntry<Dialog> entry = TagEntry.valueEntry(DialogKeys.create(DialogConfigManager.staticKey(id)), false);
+                if (meta.quickAction()) quickActions.add(entry);
+                if (meta.pauseScreen()) pauseScreen.add(entry);
+            }
+
+            if (!quickActions.isEmpty()) {
+                event.registrar().addToTag(DialogTagKeys.QUICK_ACTIONS, quickActions);
+            }
+            if (!pauseScreen.isEmpty()) {
+                event.registrar().addToTag(DialogTagKeys.PAUSE_SCREEN_ADDITIONS, pauseScreen);
+            }
+        });
+    }
+}
@@ -4,10 +4,20 @@ import io.github.devbd1.CubDialogs.commands.CmdRegistrar;
 import io.github.devbd1.CubDialogs.API.CubDialogsAPI;
 import io.github.devbd1.CubDialogs.API.addon.AddonManager;
 import io.github.devbd1.CubDialogs.commands.CmdRegistrar;
+import io.github.devbd1.CubDialogs.dialog.BodyProviderService;
 import io.github.devbd1.CubDialogs.dialog.DialogActionBridge;
 import io.github.devbd1.CubDialogs.dialog.DialogConfigManager;
+import io.github.devbd1.CubDialogs.dialog.DialogOpenQueue;
+import io.github.devbd1.CubDialogs.dialog.DialogSessionRegistry;
+import io.github.devbd1.CubDialogs.dialog.JoinTriggerListener;
+import io.github.devbd1.CubDialogs.dialog.ReplyDispatcher;
 import io.github.devbd1.CubDialogs.dialog.SimpleDialogActionRegistry;
+import io.github.devbd1.CubDialogs.schedule.DialogScheduler;
 import io.github.devbd1.CubDialogs.serverLinks.ServerLinksManager;
+import io.github.devbd1.CubDialogs.storage.DraftStore;
+import io.github.devbd1.CubDialogs.storage.JoinStateStore;
+import io.github.devbd1.CubDialogs.storage.ResponseSink;
+import io.github.devbd1.CubDialogs.storage.ScheduleRunStore;
 import io.github.devbd1.CubDialogs.utilities.ConfigManager;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -28,6 +38,16 @@ public final class Main extends JavaPlugin {
     private AddonManager addonManager;
     private SimpleDialogActionRegistry actionRegistry;
     private DialogActionBridge actionBridge;
+    private ReplyDispatcher replyDispatcher;
+    private DialogSessionRegistry sessionRegistry;
+    private DraftStore draftStore;
+    private ResponseSink responseSink;
+    private DialogOpenQueue openQueue;
+    private BodyProviderService bodyProviders;
+    private ScheduleRunStore scheduleRuns;
+    private DialogScheduler dialogScheduler;
+    private JoinStateStore joinStates;
+    private JoinTriggerListener joinTriggers;
 
     public static Main getInstance() {
         return instance;
@@ -48,9 +68,37 @@ public final class Main extends JavaPlugin {
             ConfigManager.init(this);
             DialogConfigManager.init(this);
 
+            // Form drafts are restored in the background and written asynchronously
+            draftStore = new DraftStore(
+                    new File(getDataFolder(), "drafts").toPath(),
+                    getLogger(),
+                    ConfigManager.getInt("drafts.max_age_days", 7) * 86_400_000L,
+                    ConfigManager.getInt("drafts.compact_min_lines", 1000)
+            );
+
+            // Submitted forms (store_response action) are appended by a background writer
+            responseSink = new ResponseSink(
+                    new File(getDataFolder(), "responses").toPath(),
+                    getLogger(),
+                    ConfigManager.getInt("responses.queue_capacity", 10000),
+                    ConfigManager.getInt("responses.offer_timeout_ms", 5),
+                    ConfigManager.getInt("responses.rotate_size_mb", 64) * 1024L * 1024L,
+                    ConfigManager.getInt("responses.rotate_interval_hours", 24) * 3_600_000L
+            );
+
             // Initialize the API
             initializeAPI();
 
+            // Start scheduled dialogs; last runs are remembered across restarts
+            scheduleRuns = new ScheduleRunStore(new File(getDataFolder(), "schedules.json").toPath(), getLogger());
+            dialogScheduler = new DialogScheduler(this, openQueue, scheduleRuns);
+            reloadSchedules();
+
+            // Dialogs with a join trigger; seen/accepted state is loaded before players join
+            joinStates = new JoinStateStore(new File(getDataFolder(), "joinstate").toPath(), getLogger());
+            joinTriggers = new JoinTriggerListener(this, joinStates, openQueue);
+            getServer().getPluginManager().registerEvents(joinTriggers, this);
+
             // Register commands
             CmdRegistrar.register(this);
 
@@ -79,6 +127,43 @@ public final class Main extends JavaPlugin {
         // Shutdown API
         CubDialogsAPI.shutdown();
 
+        if (dialogScheduler != null) {
+            dialogScheduler.stop();
+        }
+
+        if (openQueue != null) {
+            openQueue.clear();
+        }
+
+        if (bodyProviders != null) {
+            bodyProviders.clear();
+        }
+
+        if (sessionRegistry != null) {
+            sessionRegistry.clear();
+        }
+
+        // Flush pending response and draft writes
+        if (responseSink != null) {
+            responseSink.close();
+            responseSink = null;
+        }
+
+        if (draftStore != null) {
+            draftStore.close();
+            draftStore = null;
+        }
+
+        if (scheduleRuns != null) {
+            scheduleRuns.close();
+            scheduleRuns = null;
+        }
+
+        if (joinStates != null) {
+            joinStates.close();
+            joinStates = null;
+        }
+
         instance = null;
     }
 
@@ -89,14 +174,42 @@ public final class Main extends JavaPlugin {
     }
 
     private void initializeAPI() {
-        // Create the registry
-        actionRegistry = new SimpleDialogActionRegistry(getLogger());
+        // Create the registry; slow listeners that opted in are moved to Bukkit's async pool
+        actionRegistry = new SimpleDialogActionRegistry(
+                getLogger(),
+                task -> getServer().getScheduler().runTaskAsynchronously(this, task),
+                (long) (ConfigManager.getDouble("listeners.budget_ms", 2.0) * 1_000_000L),
+                ConfigManager.getInt("listeners.window", 128),
+                ConfigManager.getInt("listeners.warn_interval_seconds", 60) * 1_000_000_000L
+        );
+
+        // Bulk opens are delivered a slice per tick
+        openQueue = new DialogOpenQueue(
+                this,
+                (long) (ConfigManager.getDouble("open_queue.budget_ms", 1.0) * 1_000_000L)
+        );
+
+        // Provider bodies are computed off the server thread and cached; dialogs never wait for them
+        bodyProviders = new BodyProviderService(
+                getLogger(),
+                task -> getServer().getScheduler().runTaskAsynchronously(this, task),
+                ConfigManager.getInt("body_providers.timeout_ms", 2000)
+        );
+        getServer().getPluginManager().registerEvents(bodyProviders, this);
 
         // Bootstrap the API with this registry and our plugin version
-        CubDialogsAPI.bootstrap(actionRegistry, "1.0.0");
+        CubDialogsAPI.bootstrap(actionRegistry, openQueue, bodyProviders, "1.0.0");
+
+        // Replies from listeners are coalesced per player and sent once per tick
+        replyDispatcher = new ReplyDispatcher(this);
+        getServer().getPluginManager().registerEvents(replyDispatcher, this);
+
+        // Tracks the dialog each player currently has open
+        sessionRegistry = new DialogSessionRegistry();
+        getServer().getPluginManager().registerEvents(sessionRegistry, this);
 
         // Create and register the bridge
-        actionBridge = new DialogActionBridge(this);
+        actionBridge = new DialogActionBridge(this, replyDispatcher, sessionRegistry);
         getServer().getPluginManager().registerEvents(actionBridge, this);
 
         getLogger().info("CubDialogs API initialized with version " + CubDialogsAPI.getApiVersion());
@@ -125,6 +238,64 @@ public final class Main extends JavaPlugin {
         return addonManager;
     }
 
+    /**
+     * Gets the store of saved form drafts.
+     */
+    public DraftStore getDraftStore() {
+        return draftStore;
+    }
+
+    /**
+     * Gets the sink that stores submitted dialog forms.
+     */
+    public ResponseSink getResponseSink() {
+        return responseSink;
+    }
+
+    /**
+     * Gets the queue that delivers bulk dialog opens.
+     */
+    public DialogOpenQueue getOpenQueue() {
+        return openQueue;
+    }
+
+    /**
+     * Gets the registry and cache of body providers.
+     */
+    public BodyProviderService getBodyProviders() {
+        return bodyProviders;
+    }
+
+    /**
+     * Gets the listener that opens dialogs with a join trigger.
+     */
+    public JoinTriggerListener getJoinTriggers() {
+        return joinTriggers;
+    }
+
+    /**
+     * Reloads the "schedules" section of config.yml.
+     *
+     * @return number of active schedules
+     */
+    public int reloadSchedules() {
+        if (dialogScheduler == null) {
+            return 0;
+        }
+        int count = dialogScheduler.load(getConfig().getConfigurationSection("schedules"));
+        if (count > 0) {
+            getLogger().info("Loaded " + count + " dialog schedule(s)");
+        }
+        return count;
+    }
+
+    /**
+     * Gets the registry of currently open dialog sessions.
+     */
+    public DialogSessionRegistry getSessionRegistry() {
+        return sessionRegistry;
+    }
+
     /**
      * Copies addon files from the plugin's resources to the addons directory
      * if they don't already exist.
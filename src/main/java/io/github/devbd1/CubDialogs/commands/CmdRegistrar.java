@@ -2,19 +2,21 @@ package io.github.devbd1.CubDialogs.commands;
 
 import io.github.devbd1.CubDialogs.Main;
 import io.github.devbd1.CubDialogs.commands.sub.*;
-import org.bukkit.command.PluginCommand;
+import io.papermc.paper.command.brigadier.BasicCommand;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.plugin.lifecycle.event.types.LifecycleEvents;
+
+import java.util.Collection;
+import java.util.List;
 
 public class CmdRegistrar {
+    private static final String COMMAND = "cubdialogs";
+    private static final List<String> ALIASES = List.of("cdia");
+    private static final String PERMISSION = "CubDialogs.command.main";
+
     private CmdRegistrar() {}
 
     public static void register(Main plugin) {
-        PluginCommand cmd = plugin.getCommand("cubDialogs");
-        if (cmd == null) {
-            //logger.severe("COMMAND '/cubDialogs' NOT FOUND! Aborting command registration and disabling the plugin.");
-            plugin.getServer().getPluginManager().disablePlugin(plugin);
-            return;
-        }
-
         CmdManager mgr = new CmdManager();
         mgr.register(new OpenCmd(plugin));
         mgr.register(new ForceOpenCmd(plugin));
@@ -22,8 +24,26 @@ public class CmdRegistrar {
         mgr.register(new ReloadCmd());
         mgr.register(new VersionCmd());
         mgr.register(new AddonsCmd());
+        mgr.register(new ExportCmd(plugin));
+        mgr.register(new ActionsCmd());
+
+        // Paper plugins cannot declare commands in their plugin file; register through the lifecycle instead
+        plugin.getLifecycleManager().registerEventHandler(LifecycleEvents.COMMANDS, event ->
+                event.registrar().register(COMMAND, "Create custom screens.", ALIASES, new BasicCommand() {
+                    @Override
+                    public void execute(CommandSourceStack source, String[] args) {
+                        mgr.onCommand(source.getSender(), null, COMMAND, args);
+                    }
+
+                    @Override
+                    public Collection<String> suggest(CommandSourceStack source, String[] args) {
+                        return mgr.onTabComplete(source.getSender(), null, COMMAND, args);
+                    }
 
-        cmd.setExecutor(mgr);
-        cmd.setTabCompleter(mgr);
+                    @Override
+                    public String permission() {
+                        return PERMISSION;
+                    }
+                }));
     }
 }
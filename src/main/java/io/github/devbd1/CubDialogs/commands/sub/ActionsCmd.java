@@ -0,0 +1,76 @@
+package io.github.devbd1.CubDialogs.commands.sub;
+
+import io.github.devbd1.CubDialogs.API.ActionStats;
+import io.github.devbd1.CubDialogs.commands.CmdConfig;
+import io.github.devbd1.CubDialogs.commands.CmdInterface;
+import io.github.devbd1.CubDialogs.dialog.components.ActionMetrics;
+import org.bukkit.command.CommandSender;
+
+import java.util.List;
+import java.util.Locale;
+
+public class ActionsCmd implements CmdInterface {
+    String CMD_NAME = "actions";
+
+    @Override
+    public String getName() {
+        return CMD_NAME;
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return CmdConfig.getAliases(CMD_NAME);
+    }
+
+    @Override
+    public List<String> getPermissions() {
+        return CmdConfig.getPermissions(CMD_NAME);
+    }
+
+    @Override
+    public String getDescription() {
+        return "Show execution counts and latency per action type";
+    }
+
+    @Override
+    public String getUsage() {
+        return "/" + getName() + " [reset]";
+    }
+
+    @Override
+    public List<String> tabComplete(CommandSender sender, String[] args) {
+        if (args.length == 1 && "reset".startsWith(args[0].toLowerCase(Locale.ROOT))) {
+            return List.of("reset");
+        }
+        return List.of();
+    }
+
+    @Override
+    public boolean execute(CommandSender sender, String[] args) {
+        if (args.length > 0 && args[0].equalsIgnoreCase("reset")) {
+            ActionMetrics.reset();
+            sender.sendMessage("§aAction statistics reset.");
+            return true;
+        }
+
+        List<ActionStats> stats = ActionMetrics.snapshot();
+        if (stats.isEmpty()) {
+            sender.sendMessage("§eNo server-side actions have run yet.");
+            return true;
+        }
+
+        sender.sendMessage("§6=== Action Types ===");
+        for (ActionStats s : stats) {
+            sender.sendMessage("§e" + s.type()
+                    + " §7runs: §f" + s.executions()
+                    + (s.failures() > 0 ? " §cfailed: " + s.failures() : "")
+                    + " §7avg: §f" + formatMillis(s.averageNanos())
+                    + " §7max: §f" + formatMillis(s.maxNanos()));
+        }
+        return true;
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000.0);
+    }
+}
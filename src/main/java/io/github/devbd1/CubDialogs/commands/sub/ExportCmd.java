@@ -0,0 +1,374 @@
+package io.github.devbd1.CubDialogs.commands.sub;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.github.devbd1.CubDialogs.Main;
+import io.github.devbd1.CubDialogs.commands.CmdConfig;
+import io.github.devbd1.CubDialogs.commands.CmdInterface;
+import io.github.devbd1.CubDialogs.dialog.DialogConfigManager;
+import io.github.devbd1.CubDialogs.dialog.DialogIdIndex;
+import io.github.devbd1.CubDialogs.storage.ResponseSink;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Streams stored dialog responses to a CSV or JSONL file under /exports on a background thread.
+ * Usage: /cubDialogs export &lt;dialog&gt; [since] [csv|jsonl]
+ * "since" is a duration (30m, 12h, 7d), a date (2025-01-31) or epoch milliseconds.
+ */
+public class ExportCmd implements CmdInterface {
+    private static final int READ_BUFFER = 64 * 1024;
+    private static final long PROGRESS_INTERVAL_MILLIS = 2000;
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JavaPlugin plugin;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public ExportCmd(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    String CMD_NAME = "export";
+
+    @Override
+    public String getName() {
+        return CMD_NAME;
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return CmdConfig.getAliases(CMD_NAME);
+    }
+
+    @Override
+    public List<String> getPermissions() {
+        return CmdConfig.getPermissions(CMD_NAME);
+    }
+
+    @Override
+    public String getDescription() {
+        return "Exports stored dialog responses to CSV or JSONL";
+    }
+
+    @Override
+    public String getUsage() {
+        return "/cubDialogs export <dialog> [since] [csv|jsonl]";
+    }
+
+    @Override
+    public List<String> tabComplete(CommandSender sender, String[] args) {
+        if (args.length <= 1) {
+            String prefix = args.length == 0 ? "" : args[0];
+            return DialogConfigManager.getIdIndex().complete(prefix, DialogIdIndex.COMPLETION_LIMIT, null);
+        } else if (args.length == 2) {
+            return List.of("1h", "24h", "7d", "30d");
+        } else if (args.length == 3) {
+            return List.of("csv", "jsonl");
+        }
+        return List.of();
+    }
+
+    @Override
+    public boolean execute(CommandSender sender, String[] args) {
+        if (args.length < 1) {
+            sender.sendMessage("§eUsage: " + getUsage());
+            return false;
+        }
+
+        final String dialogId = args[0];
+        if (!DialogConfigManager.hasDialog(dialogId)) {
+            sender.sendMessage("§cUnknown dialog: " + dialogId);
+            return false;
+        }
+
+        final long since;
+        try {
+            since = args.length > 1 ? parseSince(args[1]) : 0L;
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage("§c" + e.getMessage());
+            return false;
+        }
+
+        final boolean csv = args.length < 3 || !args[2].equalsIgnoreCase("jsonl");
+
+        ResponseSink sink = Main.getInstance() != null ? Main.getInstance().getResponseSink() : null;
+        if (sink == null) {
+            sender.sendMessage("§cResponse storage is not available.");
+            return false;
+        }
+
+        final Path folder;
+        try {
+            folder = sink.folderOf(dialogId);
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage("§c" + e.getMessage());
+            return false;
+        }
+
+        if (!running.add(dialogId)) {
+            sender.sendMessage("§eAn export of " + dialogId + " is already running.");
+            return true;
+        }
+
+        // Column order comes from the dialog's declared inputs
+        List<String> columns = DialogConfigManager.getInputFields(dialogId).stream()
+                .map(DialogConfigManager.InputField::id)
+                .toList();
+
+        sender.sendMessage("§6Exporting responses of §e" + dialogId + "§6...");
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                // Make sure records still in the write queue are on disk
+                sink.flush(5, TimeUnit.SECONDS);
+                export(sender, dialogId, folder, columns, since, csv);
+            } catch (IOException | RuntimeException e) {
+                message(sender, "§cExport failed: " + e.getMessage());
+                plugin.getLogger().log(Level.WARNING, "Export of " + dialogId + " failed", e);
+            } finally {
+                running.remove(dialogId);
+            }
+        });
+        return true;
+    }
+
+    private void export(CommandSender sender, String dialogId, Path folder, List<String> columns,
+                        long since, boolean csv) throws IOException {
+        List<Path> sources = listLogs(folder, since);
+        if (sources.isEmpty()) {
+            message(sender, "§eNo stored responses found for " + dialogId + ".");
+            return;
+        }
+
+        long totalBytes = 0;
+        for (Path source : sources) {
+            totalBytes += Files.size(source);
+        }
+
+        Path exportsDir = plugin.getDataFolder().toPath().resolve("exports");
+        Files.createDirectories(exportsDir);
+        String baseName = dialogId.replace('/', '_') + "-" + LocalDateTime.now().format(FILE_STAMP);
+        Path target = exportsDir.resolve(baseName + (csv ? ".csv" : ".jsonl"));
+
+        long[] progress = {0, 0, System.currentTimeMillis(), 0}; // bytes read, records written, last report, bad lines
+        final long total = totalBytes;
+
+        try (BufferedWriter out = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            if (csv) {
+                List<String> header = new ArrayList<>(List.of("timestamp", "player_uuid", "player_name"));
+                header.addAll(columns);
+                writeCsvRow(out, header);
+            }
+
+            for (Path source : sources) {
+                forEachLine(source, (line, bytes) -> {
+                    progress[0] += bytes;
+                    if (!line.isBlank()) {
+                        switch (writeRecord(out, line, columns, since, csv)) {
+                            case WRITTEN -> progress[1]++;
+                            case MALFORMED -> progress[3]++;
+                            case FILTERED -> { }
+                        }
+                    }
+
+                    long now = System.currentTimeMillis();
+                    if (now - progress[2] >= PROGRESS_INTERVAL_MILLIS) {
+                        progress[2] = now;
+                        int percent = total > 0 ? (int) (progress[0] * 100 / total) : 100;
+                        message(sender, "§7Export of " + dialogId + ": " + percent + "% (" + progress[1] + " records)");
+                    }
+                });
+            }
+        }
+
+        message(sender, "§aExported " + progress[1] + " response(s) of " + dialogId
+                + " to exports/" + target.getFileName());
+        if (progress[3] > 0) {
+            message(sender, "§eSkipped " + progress[3] + " malformed line(s).");
+            plugin.getLogger().warning("Export of " + dialogId + " skipped " + progress[3] + " malformed line(s)");
+        }
+    }
+
+    /**
+     * Rotated logs in chronological order followed by the active log.
+     * Rotated files last modified before "since" cannot contain newer records and are skipped.
+     */
+    private static List<Path> listLogs(Path folder, long since) throws IOException {
+        if (!Files.isDirectory(folder)) {
+            return List.of();
+        }
+
+        List<Path> rotated = new ArrayList<>();
+        Path current = null;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "*.jsonl")) {
+            for (Path file : stream) {
+                if (file.getFileName().toString().equals(ResponseSink.CURRENT_FILE)) {
+                    current = file;
+                } else if (since <= 0 || Files.getLastModifiedTime(file).toMillis() >= since) {
+                    rotated.add(file);
+                }
+            }
+        }
+
+        rotated.sort(ResponseSink.ROTATION_ORDER);
+        List<Path> result = new ArrayList<>(rotated);
+        if (current != null) {
+            result.add(current);
+        }
+        return result;
+    }
+
+    private interface LineConsumer {
+        void accept(String line, int bytes) throws IOException;
+    }
+
+    /**
+     * Reads a file sequentially through a fixed-size buffer and emits it line by line.
+     * Memory use is bounded by the buffer plus the longest line.
+     */
+    private static void forEachLine(Path file, LineConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER);
+            byte[] line = new byte[1024];
+            int length = 0;
+
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (b == '\n') {
+                        consumer.accept(new String(line, 0, length, StandardCharsets.UTF_8), length + 1);
+                        length = 0;
+                        continue;
+                    }
+                    if (length == line.length) {
+                        line = Arrays.copyOf(line, line.length * 2);
+                    }
+                    line[length++] = b;
+                }
+                buffer.clear();
+            }
+
+            if (length > 0) {
+                consumer.accept(new String(line, 0, length, StandardCharsets.UTF_8), length);
+            }
+        }
+    }
+
+    private enum Outcome { WRITTEN, FILTERED, MALFORMED }
+
+    private static Outcome writeRecord(BufferedWriter out, String line, List<String> columns,
+                                       long since, boolean csv) throws IOException {
+        long ts;
+        List<String> row = null;
+        try {
+            JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+            ts = json.has("ts") ? json.get("ts").getAsLong() : 0L;
+            if (ts >= since && csv) {
+                JsonObject values = json.has("values") ? json.getAsJsonObject("values") : new JsonObject();
+                row = new ArrayList<>(columns.size() + 3);
+                row.add(Instant.ofEpochMilli(ts).toString());
+                row.add(text(json.get("player")));
+                row.add(text(json.get("name")));
+                for (String column : columns) {
+                    row.add(text(values.get(column)));
+                }
+            }
+        } catch (RuntimeException e) {
+            return Outcome.MALFORMED; // partial or corrupt line, or fields of the wrong type
+        }
+
+        if (ts < since) {
+            return Outcome.FILTERED;
+        }
+        if (row != null) {
+            writeCsvRow(out, row);
+        } else {
+            out.write(line);
+            out.newLine();
+        }
+        return Outcome.WRITTEN;
+    }
+
+    private static String text(JsonElement element) {
+        return element == null || element.isJsonNull() ? "" : element.getAsString();
+    }
+
+    private static void writeCsvRow(BufferedWriter out, List<String> cells) throws IOException {
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) out.write(',');
+            out.write(escapeCsv(cells.get(i)));
+        }
+        out.write("\r\n");
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        // Keep spreadsheets from evaluating player-typed text as formulas
+        if ("=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    /**
+     * Parses "30m", "12h", "7d", "2025-01-31" or epoch milliseconds into an epoch millisecond cutoff.
+     */
+    static long parseSince(String arg) {
+        String value = arg.trim().toLowerCase(Locale.ROOT);
+        if (value.matches("\\d+[smhdw]")) {
+            long amount = Long.parseLong(value.substring(0, value.length() - 1));
+            long unit = switch (value.charAt(value.length() - 1)) {
+                case 's' -> 1000L;
+                case 'm' -> 60_000L;
+                case 'h' -> 3_600_000L;
+                case 'd' -> 86_400_000L;
+                default -> 604_800_000L;
+            };
+            return System.currentTimeMillis() - amount * unit;
+        }
+        if (value.matches("\\d{10,}")) {
+            return Long.parseLong(value);
+        }
+        try {
+            return LocalDate.parse(value).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid 'since' value: " + arg + " (use e.g. 12h, 7d or 2025-01-31)");
+        }
+    }
+
+    private void message(CommandSender sender, String text) {
+        if (!plugin.isEnabled()) return;
+        Bukkit.getScheduler().runTask(plugin, () -> sender.sendMessage(text));
+    }
+}
@@ -1,9 +1,13 @@
 package io.github.devbd1.CubDialogs.commands.sub;
 
+import io.github.devbd1.CubDialogs.Main;
 import io.github.devbd1.CubDialogs.commands.CmdConfig;
 import io.github.devbd1.CubDialogs.commands.CmdInterface;
 import io.github.devbd1.CubDialogs.dialog.DialogBuilder;
 import io.github.devbd1.CubDialogs.dialog.DialogConfigManager;
+import io.github.devbd1.CubDialogs.dialog.DialogIdIndex;
+import io.github.devbd1.CubDialogs.dialog.DialogMeta;
+import io.github.devbd1.CubDialogs.utilities.TargetSelector;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -52,20 +56,17 @@ public class ForceOpenCmd implements CmdInterface {
         // args[0] -> dialog id
         // args[1] -> player name
         if (args.length == 0 || args.length == 1) {
-            String prefix = args.length == 0 ? "" : args[0].toLowerCase(Locale.ROOT);
-            List<String> ids = new ArrayList<>(DialogConfigManager.getDialogIds());
-            ids.sort(String::compareToIgnoreCase);
-            if (prefix.isEmpty()) return ids;
-            return ids.stream()
-                    .filter(id -> id.toLowerCase(Locale.ROOT).startsWith(prefix))
-                    .toList();
+            String prefix = args.length == 0 ? "" : args[0];
+            return DialogConfigManager.getIdIndex().complete(prefix, DialogIdIndex.COMPLETION_LIMIT, null);
         } else if (args.length == 2) {
             String prefix = args[1].toLowerCase(Locale.ROOT);
-            return Bukkit.getOnlinePlayers().stream()
+            List<String> names = new ArrayList<>(Bukkit.getOnlinePlayers().stream()
                     .map(Player::getName)
                     .filter(name -> name.toLowerCase(Locale.ROOT).startsWith(prefix))
                     .sorted(String::compareToIgnoreCase)
-                    .toList();
+                    .toList());
+            if ("@a".startsWith(prefix)) names.add(0, "@a");
+            return names;
         }
         return List.of();
     }
@@ -73,13 +74,14 @@ public class ForceOpenCmd implements CmdInterface {
     @Override
     public boolean execute(CommandSender sender, String[] args) {
         final String id = args.length > 0 ? args[0] : "feedback_form";
-        if (!DialogConfigManager.hasDialog(id)) {
+        final DialogMeta meta = DialogConfigManager.getMeta(id);
+        if (meta == null) {
             sender.sendMessage("§cCould not build dialog: " + id + " (check dialogs folder)");
             plugin.getLogger().warning("Dialog configuration not found for ID: " + id);
             return false;
         }
 
-        if (!DialogConfigManager.isEnabled(id)) {
+        if (!meta.enabled()) {
             sender.sendMessage("§eThis dialog is currently disabled: §6" + id);
             return false;
         }
@@ -89,6 +91,9 @@ public class ForceOpenCmd implements CmdInterface {
 
         if (hasTarget) {
             String targetName = args[1];
+            if (TargetSelector.isSelector(targetName)) {
+                return openSelected(sender, id, targetName);
+            }
             viewer = Bukkit.getPlayerExact(targetName);
             if (viewer == null) {
                 sender.sendMessage("§cPlayer '" + targetName + "' is not online or does not exist.");
@@ -101,4 +106,26 @@ public class ForceOpenCmd implements CmdInterface {
 
         return new DialogBuilder().build(viewer, id);
     }
+
+    /**
+     * Queues the dialog for every player matched by a selector.
+     */
+    private boolean openSelected(CommandSender sender, String id, String selector) {
+        List<Player> targets;
+        try {
+            targets = TargetSelector.resolve(selector);
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage("§c" + e.getMessage());
+            return false;
+        }
+
+        if (targets.isEmpty()) {
+            sender.sendMessage("§eNo online players matched " + selector + ".");
+            return false;
+        }
+
+        int queued = Main.getInstance().getOpenQueue().open(id, targets);
+        sender.sendMessage("§aOpening §6" + id + "§a for " + queued + " player(s).");
+        return true;
+    }
 }
@@ -1,9 +1,13 @@
 package io.github.devbd1.CubDialogs.commands.sub;
 
+import io.github.devbd1.CubDialogs.Main;
 import io.github.devbd1.CubDialogs.commands.CmdConfig;
 import io.github.devbd1.CubDialogs.commands.CmdInterface;
 import io.github.devbd1.CubDialogs.dialog.DialogBuilder;
 import io.github.devbd1.CubDialogs.dialog.DialogConfigManager;
+import io.github.devbd1.CubDialogs.dialog.DialogIdIndex;
+import io.github.devbd1.CubDialogs.dialog.DialogMeta;
+import io.github.devbd1.CubDialogs.utilities.TargetSelector;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -12,6 +16,7 @@ import org.bukkit.plugin.java.JavaPlugin;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Predicate;
 
 public class OpenCmd implements CmdInterface {
     private final JavaPlugin plugin;
@@ -52,20 +57,21 @@ public class OpenCmd implements CmdInterface {
         // args[0] -> dialog id
         // args[1] -> player name
         if (args.length == 0 || args.length == 1) {
-            String prefix = args.length == 0 ? "" : args[0].toLowerCase(Locale.ROOT);
-            List<String> ids = new ArrayList<>(DialogConfigManager.getDialogIds());
-            ids.sort(String::compareToIgnoreCase);
-            if (prefix.isEmpty()) return ids;
-            return ids.stream()
-                    .filter(id -> id.toLowerCase(Locale.ROOT).startsWith(prefix))
-                    .toList();
+            String prefix = args.length == 0 ? "" : args[0];
+            // Players only see dialogs they may open; console sees all
+            Predicate<String> canOpen = sender instanceof Player
+                    ? id -> sender.hasPermission(DialogConfigManager.getPermissionToOpen(id))
+                    : null;
+            return DialogConfigManager.getIdIndex().complete(prefix, DialogIdIndex.COMPLETION_LIMIT, canOpen);
         } else if (args.length == 2) {
             String prefix = args[1].toLowerCase(Locale.ROOT);
-            return Bukkit.getOnlinePlayers().stream()
+            List<String> names = new ArrayList<>(Bukkit.getOnlinePlayers().stream()
                     .map(Player::getName)
                     .filter(name -> name.toLowerCase(Locale.ROOT).startsWith(prefix))
                     .sorted(String::compareToIgnoreCase)
-                    .toList();
+                    .toList());
+            if ("@a".startsWith(prefix)) names.add(0, "@a");
+            return names;
         }
         return List.of();
     }
@@ -74,20 +80,21 @@ public class OpenCmd implements CmdInterface {
     public boolean execute(CommandSender sender, String[] args) {
         // 1) Resolve dialog ID
         final String id = args.length > 0 ? args[0] : "feedback_form";
-        if (!DialogConfigManager.hasDialog(id)) {
+        final DialogMeta meta = DialogConfigManager.getMeta(id);
+        if (meta == null) {
             sender.sendMessage("§cCould not build dialog: " + id + " (check dialogs folder)");
             plugin.getLogger().warning("Dialog configuration not found for ID: " + id);
             return false;
         }
 
         // 2) Check enabled flag and give feedback
-        if (!DialogConfigManager.isEnabled(id)) {
+        if (!meta.enabled()) {
             sender.sendMessage("§eThis dialog is currently disabled: §6" + id);
             return false;
         }
 
         // 3) Resolve permissions from config
-        final String permOpen = DialogConfigManager.getPermissionToOpen(id);
+        final String permOpen = meta.permissionToOpen();
 
         // 4) Resolve target viewer (self vs remote)
         final boolean hasTarget = args.length > 1;
@@ -95,6 +102,9 @@ public class OpenCmd implements CmdInterface {
 
         if (hasTarget) {
             String targetName = args[1];
+            if (TargetSelector.isSelector(targetName)) {
+                return openSelected(sender, id, targetName, permOpen);
+            }
             viewer = Bukkit.getPlayerExact(targetName);
             if (viewer == null) {
                 sender.sendMessage("§cPlayer '" + targetName + "' is not online or does not exist.");
@@ -123,4 +133,31 @@ public class OpenCmd implements CmdInterface {
         // 5) Build and show dialog to the resolved viewer
         return new DialogBuilder().build(viewer, id);
     }
-}
\ No newline at end of file
+
+    /**
+     * Queues the dialog for every player matched by a selector who may view it.
+     */
+    private boolean openSelected(CommandSender sender, String id, String selector, String permOpen) {
+        List<Player> targets;
+        try {
+            targets = TargetSelector.resolve(selector);
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage("§c" + e.getMessage());
+            return false;
+        }
+
+        int skipped = targets.size();
+        targets.removeIf(p -> !p.hasPermission(permOpen));
+        skipped -= targets.size();
+
+        if (targets.isEmpty()) {
+            sender.sendMessage("§eNo online players matched " + selector + ".");
+            return false;
+        }
+
+        int queued = Main.getInstance().getOpenQueue().open(id, targets);
+        sender.sendMessage("§aOpening §6" + id + "§a for " + queued + " player(s)"
+                + (skipped > 0 ? " §7(" + skipped + " without permission skipped)" : "") + ".");
+        return true;
+    }
+}
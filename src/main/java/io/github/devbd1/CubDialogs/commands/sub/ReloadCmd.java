@@ -43,15 +43,21 @@ public class ReloadCmd implements CmdInterface {
     public boolean execute(CommandSender sender, String[] args) {
         try {
             // Reload the main plugin configuration
+            io.github.devbd1.CubDialogs.utilities.ConfigManager.reload();
+
+            // Reload changed dialog files and the dialogs that extend them
+            int recompiled = io.github.devbd1.CubDialogs.dialog.DialogConfigManager.reloadDialogConfigs();
+
+            // Re-apply server links and regenerate the server_links dialog
+            io.github.devbd1.CubDialogs.serverLinks.ServerLinksManager.reloadServerLinks();
+
+            // Re-read schedules from the reloaded config
             if (io.github.devbd1.CubDialogs.Main.getInstance() != null) {
-                io.github.devbd1.CubDialogs.Main.getInstance().reloadConfig();
+                io.github.devbd1.CubDialogs.Main.getInstance().reloadSchedules();
             }
 
-            // Reload all dialog configurations
-            io.github.devbd1.CubDialogs.dialog.DialogConfigManager.reloadDialogConfigs();
-
             // Send a success message to the command sender
-            sender.sendMessage("§aConfiguration, and dialogs reloaded successfully! You need to restart the server to reload server links and command aliases.");
+            sender.sendMessage("§aConfiguration, dialogs (" + recompiled + " recompiled) and server links reloaded successfully! Players see changed server links after rejoining; command aliases need a server restart.");
 
             return true;
         } catch (Exception e) {
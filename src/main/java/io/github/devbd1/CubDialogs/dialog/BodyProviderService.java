@@ -0,0 +1,184 @@
+package io.github.devbd1.CubDialogs.dialog;
+
+import io.github.devbd1.CubDialogs.API.BodyProvider;
+import io.github.devbd1.CubDialogs.API.BodyProviderRegistry;
+import io.github.devbd1.CubDialogs.API.BodyRequest;
+import io.github.devbd1.CubDialogs.API.Registration;
+import net.kyori.adventure.text.Component;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of BodyProviderRegistry with TTL caches.
+ *
+ * Building a dialog only reads the cache: a missing or expired value schedules one refresh on the
+ * async executor and the body shows the stale value or its fallback meanwhile. Values are cached
+ * per provider and parameters, and additionally per player for "scope: player" bodies; per-player
+ * entries are dropped when the player quits.
+ */
+public class BodyProviderService implements BodyProviderRegistry, Listener {
+    // Failed or timed-out refreshes are retried after this long at the earliest
+    private static final long RETRY_MILLIS = 5_000;
+
+    private final Map<String, RegisteredProvider> providers = new ConcurrentHashMap<>();
+    private final Map<CacheKey, CacheEntry> globalCache = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<CacheKey, CacheEntry>> playerCache = new ConcurrentHashMap<>();
+    private final Logger logger;
+    private final Executor asyncExecutor;
+    private final long timeoutMillis;
+
+    /**
+     * @param logger        logger for registration and refresh failures
+     * @param asyncExecutor executor providers are called on
+     * @param timeoutMillis time a provider gets to complete before its result is abandoned
+     */
+    public BodyProviderService(Logger logger, Executor asyncExecutor, long timeoutMillis) {
+        this.logger = logger;
+        this.asyncExecutor = asyncExecutor;
+        this.timeoutMillis = Math.max(1, timeoutMillis);
+    }
+
+    @Override
+    public Registration register(String name, BodyProvider provider) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(provider, "provider");
+
+        String key = name.toLowerCase(Locale.ROOT);
+        RegisteredProvider registration = new RegisteredProvider(key, provider);
+        if (providers.put(key, registration) != null) {
+            evict(key);
+        }
+        logger.info("Registered body provider: " + key);
+        return registration;
+    }
+
+    @Override
+    public boolean isRegistered(String name) {
+        return name != null && providers.containsKey(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the cached text for a provider body and refreshes it in the background if it is
+     * missing or expired. Never blocks.
+     *
+     * @param request   provider, viewer (null for a shared value) and parameters
+     * @param ttlMillis how long a computed value stays fresh
+     * @return the latest computed text, possibly stale, or null if none is available yet
+     */
+    public Component resolve(BodyRequest request, long ttlMillis) {
+        RegisteredProvider registered = providers.get(request.provider());
+        if (registered == null) {
+            return null;
+        }
+
+        CacheKey key = new CacheKey(request.provider(), request.params());
+        Map<CacheKey, CacheEntry> cache = request.viewer() == null
+                ? globalCache
+                : playerCache.computeIfAbsent(request.viewer(), id -> new ConcurrentHashMap<>());
+        CacheEntry entry = cache.computeIfAbsent(key, k -> new CacheEntry());
+
+        if (System.currentTimeMillis() >= entry.expiresAt && entry.refreshing.compareAndSet(false, true)) {
+            refresh(registered, request, entry, ttlMillis);
+        }
+        return entry.value;
+    }
+
+    private void refresh(RegisteredProvider registered, BodyRequest request, CacheEntry entry, long ttlMillis) {
+        asyncExecutor.execute(() -> {
+            CompletableFuture<Component> future;
+            try {
+                future = registered.provider.provide(request);
+            } catch (Throwable t) {
+                future = CompletableFuture.failedFuture(t);
+            }
+            if (future == null) {
+                future = CompletableFuture.completedFuture(null);
+            }
+
+            future.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+                long now = System.currentTimeMillis();
+                if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        logger.warning("Body provider " + request.provider() + " did not answer within " + timeoutMillis + "ms");
+                    } else {
+                        logger.warning("Body provider " + request.provider() + " failed: " + cause);
+                    }
+                    entry.expiresAt = now + Math.min(RETRY_MILLIS, ttlMillis);
+                } else {
+                    if (value != null) {
+                        entry.value = value;
+                    }
+                    entry.expiresAt = now + ttlMillis;
+                }
+                entry.refreshing.set(false);
+            });
+        });
+    }
+
+    /**
+     * Removes all providers and cached values. Intended for plugin shutdown.
+     */
+    public void clear() {
+        providers.clear();
+        globalCache.clear();
+        playerCache.clear();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        playerCache.remove(event.getPlayer().getUniqueId());
+    }
+
+    private void evict(String provider) {
+        globalCache.keySet().removeIf(key -> key.provider().equals(provider));
+        for (Map<CacheKey, CacheEntry> cache : playerCache.values()) {
+            cache.keySet().removeIf(key -> key.provider().equals(provider));
+        }
+    }
+
+    private record CacheKey(String provider, Map<String, String> params) {}
+
+    private static final class CacheEntry {
+        volatile Component value;
+        volatile long expiresAt;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+    }
+
+    private class RegisteredProvider implements Registration {
+        private final String name;
+        private final BodyProvider provider;
+
+        RegisteredProvider(String name, BodyProvider provider) {
+            this.name = name;
+            this.provider = provider;
+        }
+
+        @Override
+        public void unregister() {
+            if (providers.remove(name, this)) {
+                evict(name);
+                logger.info("Unregistered body provider: " + name);
+            }
+        }
+
+        @Override
+        public boolean isActive() {
+            return providers.get(name) == this;
+        }
+    }
+}
@@ -3,12 +3,14 @@ package io.github.devbd1.CubDialogs.dialog;
 import io.github.devbd1.CubDialogs.API.CubDialogsAPI;
 import io.github.devbd1.CubDialogs.API.DialogActionContext;
 import io.github.devbd1.CubDialogs.API.DialogKey;
+import io.github.devbd1.CubDialogs.API.DialogSession;
 import io.github.devbd1.CubDialogs.API.PayloadView;
 import io.papermc.paper.connection.PlayerGameConnection;
 import io.papermc.paper.dialog.DialogResponseView;
 import io.papermc.paper.event.player.PlayerCustomClickEvent;
 import net.kyori.adventure.key.Key;
-import org.bukkit.Bukkit;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -22,12 +24,21 @@ import java.util.logging.Logger;
  * Bridges Paper's custom click events to our DialogActionRegistry.
  */
 public class DialogActionBridge implements Listener {
+    /**
+     * Payload field that custom action buttons add with the id of the dialog they belong to.
+     */
+    public static final String DIALOG_ID_FIELD = "cubdialogs_dialog";
+
     private final Plugin plugin;
     private final Logger logger;
+    private final ReplyDispatcher replies;
+    private final DialogSessionRegistry sessions;
     
-    public DialogActionBridge(Plugin plugin) {
+    public DialogActionBridge(Plugin plugin, ReplyDispatcher replies, DialogSessionRegistry sessions) {
         this.plugin = plugin;
         this.logger = plugin.getLogger();
+        this.replies = replies;
+        this.sessions = sessions;
     }
     
     @EventHandler
@@ -53,7 +64,7 @@ public class DialogActionBridge implements Listener {
             }
             
             // Create PayloadView adapter
-            PayloadView payloadView = new PaperPayloadViewAdapter(responseView);
+            PayloadView payloadView = new PaperPayloadView(responseView);
             
             // Create context
             UUID playerId = null;
@@ -69,17 +80,28 @@ public class DialogActionBridge implements Listener {
                 return;
             }
             
+            DialogSession session = sessions.get(playerId);
+            // The button names its dialog; the session may belong to another one (pages, client-side
+            // links, quick actions), so it is not used for drafts
+            String sourceDialog = payloadView.getText(DIALOG_ID_FIELD);
+            if (sourceDialog != null && DialogConfigManager.hasDialog(sourceDialog)) {
+                // Submissions discard the draft; any other custom action keeps the form as typed so far
+                if (DialogConfigManager.getDraftClearKeys(sourceDialog).contains(dialogKey.asString())) {
+                    DialogBuilder.clearDraft(playerId, sourceDialog);
+                } else {
+                    DialogBuilder.saveDraft(playerId, sourceDialog, payloadView);
+                }
+            }
+
             SimpleDialogActionContext context = new SimpleDialogActionContext(
                     dialogKey,
                     payloadView,
                     playerId,
                     playerName,
-                    plugin
+                    session,
+                    replies
             );
             
-            // Notify the registry
-            CubDialogsAPI.get().register(dialogKey, ctx -> {});
-
             // Dispatch the event to all registered listeners
             try {
                 CubDialogsAPI.get().executeListeners(context);
@@ -94,38 +116,6 @@ public class DialogActionBridge implements Listener {
         }
     }
     
-    /**
-     * Adapter for Paper's DialogResponseView to our PayloadView.
-     */
-    private static class PaperPayloadViewAdapter implements PayloadView {
-        private final DialogResponseView view;
-        
-        PaperPayloadViewAdapter(DialogResponseView view) {
-            this.view = view;
-        }
-        
-        @Override
-        public String getText(String key) {
-            return view.getText(key);
-        }
-        
-        @Override
-        public Integer getInt(String key) {
-            Float f = view.getFloat(key);
-            return f != null ? f.intValue() : null;
-        }
-        
-        @Override
-        public Float getFloat(String key) {
-            return view.getFloat(key);
-        }
-        
-        @Override
-        public Boolean getBoolean(String key) {
-            return view.getBoolean(key);
-        }
-    }
-    
     /**
      * Simple implementation of DialogActionContext.
      */
@@ -134,15 +124,17 @@ public class DialogActionBridge implements Listener {
         private final PayloadView payload;
         private final UUID playerId;
         private final String playerName;
-        private final Plugin plugin;
+        private final DialogSession session;
+        private final ReplyDispatcher replies;
         
         SimpleDialogActionContext(DialogKey key, PayloadView payload, UUID playerId, 
-                                 String playerName, Plugin plugin) {
+                                 String playerName, DialogSession session, ReplyDispatcher replies) {
             this.key = key;
             this.payload = payload;
             this.playerId = playerId;
             this.playerName = playerName;
-            this.plugin = plugin;
+            this.session = session;
+            this.replies = replies;
         }
         
         @Override
@@ -165,22 +157,23 @@ public class DialogActionBridge implements Listener {
             return Optional.ofNullable(playerName);
         }
 
+        @Override
+        public Optional<DialogSession> session() {
+            return Optional.ofNullable(session);
+        }
+
         @Override
         public void reply(String message) {
-            // Ensure this runs on the main thread
-            if (Bukkit.isPrimaryThread()) {
-                sendMessage(message);
-            } else {
-                final String finalMessage = message; // Create final copy for lambda
-                Bukkit.getScheduler().runTask(plugin, () -> sendMessage(finalMessage));
+            if (message == null) {
+                return;
             }
+            reply(LegacyComponentSerializer.legacySection().deserialize(message));
         }
 
-        private void sendMessage(String message) {
-            Player player = Bukkit.getPlayer(playerId);
-            if (player != null && player.isOnline()) {
-                player.sendMessage(message);
-            }
+        @Override
+        public void reply(Component message) {
+            // Queued per player and delivered on the server thread once per tick
+            replies.enqueue(playerId, message);
         }
 
     }
@@ -1,9 +1,18 @@
 package io.github.devbd1.CubDialogs.dialog;
 
+import io.github.devbd1.CubDialogs.API.PayloadView;
+import io.github.devbd1.CubDialogs.Main;
+import io.github.devbd1.CubDialogs.storage.DraftStore;
+import io.github.devbd1.CubDialogs.storage.ResponseSink;
 import io.papermc.paper.dialog.Dialog;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
 public class DialogBuilder {
     //private DialogBuilder() {}
 
@@ -21,18 +30,112 @@ public class DialogBuilder {
     }
 
     public boolean build(Player player, String dialogId) {
+        return build(player, dialogId, null);
+    }
+
+    /**
+     * Builds and shows a dialog, recording a session with the given open parameters attached.
+     */
+    public boolean build(Player player, String dialogId, Map<String, Object> attachments) {
         if (dialogId == null || dialogId.isBlank()) {
             player.sendMessage("§cDialog ID cannot be null or blank!");
             return false;
         }
 
-        Dialog dialog = DialogConfigManager.buildDialog(dialogId);
+        Dialog dialog = DialogConfigManager.buildDialogFor(player, dialogId, loadDraft(player.getUniqueId(), dialogId));
         if (dialog == null) {
             player.sendMessage("§cCould not build dialog: " + dialogId + " (check dialogs folder.)");
             return false;
         }
 
         player.showDialog(dialog);
+        recordSession(player, dialogId, attachments);
         return true;
     }
+
+    /**
+     * Shows a dialog that is built once for many players. Players with a saved draft, and dialogs
+     * that differ per viewer (per-player bodies, "visible_if", single-use buttons), still get their
+     * own build; the shared one is only built when needed.
+     */
+    public boolean show(Player player, String dialogId, Supplier<Dialog> shared, Map<String, Object> attachments) {
+        DialogMeta meta = DialogConfigManager.getMeta(dialogId);
+        if ((meta != null && meta.builtPerViewer()) || !loadDraft(player.getUniqueId(), dialogId).isEmpty()) {
+            return build(player, dialogId, attachments);
+        }
+
+        Dialog dialog = shared.get();
+        if (dialog == null) {
+            return false;
+        }
+        player.showDialog(dialog);
+        recordSession(player, dialogId, attachments);
+        return true;
+    }
+
+    /**
+     * Saves the submitted values as the player's draft, if the dialog has drafts enabled.
+     */
+    public static void saveDraft(UUID playerId, String dialogId, PayloadView payload) {
+        DraftStore drafts = draftStore();
+        if (drafts == null || !DialogConfigManager.isDraftsEnabled(dialogId)) {
+            return;
+        }
+        drafts.save(playerId, dialogId, DialogConfigManager.readInputValues(dialogId, payload));
+    }
+
+    /**
+     * Discards the player's draft for a dialog, e.g. after the form was submitted.
+     */
+    public static void clearDraft(UUID playerId, String dialogId) {
+        DraftStore drafts = draftStore();
+        if (drafts != null) {
+            drafts.clear(playerId, dialogId);
+        }
+    }
+
+    /**
+     * Queues the submitted values of a dialog for the response log and discards the player's draft.
+     *
+     * @return false if the response log is unavailable or its queue is full
+     */
+    public static boolean storeResponse(Player player, String dialogId, PayloadView payload) {
+        Main main = Main.getInstance();
+        ResponseSink sink = main != null ? main.getResponseSink() : null;
+        if (sink == null) {
+            return false;
+        }
+
+        boolean queued = sink.submit(new ResponseSink.ResponseRecord(
+                dialogId,
+                System.currentTimeMillis(),
+                player.getUniqueId(),
+                player.getName(),
+                DialogConfigManager.readInputValues(dialogId, payload)
+        ));
+        if (queued) {
+            clearDraft(player.getUniqueId(), dialogId);
+        }
+        return queued;
+    }
+
+    private static Map<String, String> loadDraft(UUID playerId, String dialogId) {
+        DraftStore drafts = draftStore();
+        if (drafts == null || !DialogConfigManager.isDraftsEnabled(dialogId)) {
+            return Collections.emptyMap();
+        }
+        return drafts.get(playerId, dialogId);
+    }
+
+    private static DraftStore draftStore() {
+        Main main = Main.getInstance();
+        return main != null ? main.getDraftStore() : null;
+    }
+
+    private static void recordSession(Player player, String dialogId, Map<String, Object> attachments) {
+        Main main = Main.getInstance();
+        if (main != null && main.getSessionRegistry() != null) {
+            main.getSessionRegistry().open(player.getUniqueId(), dialogId, attachments);
+        }
+    }
 }
\ No newline at end of file
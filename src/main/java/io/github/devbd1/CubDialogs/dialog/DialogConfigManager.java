@@ -1,53 +1,152 @@
 package io.github.devbd1.CubDialogs.dialog;
 
+import io.github.devbd1.CubDialogs.API.BodyType;
+import io.github.devbd1.CubDialogs.API.InputType;
+import io.github.devbd1.CubDialogs.API.PayloadView;
 import io.github.devbd1.CubDialogs.dialog.components.BodyBuilder;
 import io.github.devbd1.CubDialogs.dialog.components.ButtonBuilder;
+import io.github.devbd1.CubDialogs.dialog.components.ComponentRegistry;
 import io.github.devbd1.CubDialogs.dialog.components.InputBuilder;
+import io.github.devbd1.CubDialogs.dialog.condition.VisibilityRules;
 
 import io.github.devbd1.CubDialogs.dialog.types.TypeInterface;
 import io.github.devbd1.CubDialogs.dialog.types.TypeRegistrar;
+import io.github.devbd1.CubDialogs.utilities.ConfigManager;
+import io.github.devbd1.CubDialogs.utilities.ConfigMaps;
 import io.papermc.paper.dialog.Dialog;
+import io.papermc.paper.registry.RegistryAccess;
+import io.papermc.paper.registry.RegistryKey;
 import io.papermc.paper.registry.data.dialog.ActionButton;
 import io.papermc.paper.registry.data.dialog.DialogBase;
+import io.papermc.paper.registry.data.dialog.action.DialogAction;
 import io.papermc.paper.registry.data.dialog.body.DialogBody;
 import io.papermc.paper.registry.data.dialog.input.DialogInput;
 import io.papermc.paper.registry.data.dialog.type.DialogType;
+import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextColor;
+import org.bukkit.configuration.Configuration;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Loads individual dialog files from /dialogs/ folder and builds Dialogs dynamically from the configuration.
  */
 public class DialogConfigManager {
     private static JavaPlugin plugin;
+    private static Logger logger;
+    private static File dataFolder;
+    // Dialog files as written, and as compiled with everything they inherit through "extends"
+    private static final Map<String, FileConfiguration> fileConfigs = new ConcurrentHashMap<>();
     private static final Map<String, FileConfiguration> dialogConfigs = new ConcurrentHashMap<>();
+    private static final Map<String, FileStamp> fileStamps = new ConcurrentHashMap<>();
+    private static volatile DialogInheritance inheritance = DialogInheritance.EMPTY;
+    private static volatile FragmentLibrary fragments = FragmentLibrary.EMPTY;
     private static final Set<String> availableDialogIds = ConcurrentHashMap.newKeySet();
+    private static volatile Map<String, DialogMeta> dialogMetas = Map.of();
+    private static volatile DialogIdIndex dialogIdIndex = DialogIdIndex.EMPTY;
+    private static final AtomicLong generation = new AtomicLong();
+    private static final ThreadLocal<String> buildingDialogId = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> buildingStatic = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> buildingPage = new ThreadLocal<>();
+    private static final ThreadLocal<Player> buildingViewer = new ThreadLocal<>();
+    private static final ThreadLocal<BitSet> buildingOutcome = new ThreadLocal<>();
+    private static final ThreadLocal<String> buildingLocale = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> buildingSingleOpen = new ThreadLocal<>();
+    // Dialogs whose build is in progress on this thread, outermost first; embedded links nest builds
+    private static final ThreadLocal<Set<String>> buildingChain = ThreadLocal.withInitial(LinkedHashSet::new);
+    private static volatile LocaleOverlays localeOverlays = LocaleOverlays.EMPTY;
+    private static int maxLocaleVariants = 64;
+    // Per-viewer builds of dialogs with "visible_if" and later pages of paginated dialogs; dropped on every new generation
+    private static final Map<BuiltVariant, CachedBuild> builtVariants = new ConcurrentHashMap<>();
+    private static final int MAX_BUILT_VARIANTS = 1024;
+    // Cached builds hold button callbacks, so they are rebuilt while those still have half their lifetime left
+    private static final long MAX_BUILD_AGE_NANOS = ButtonBuilder.CALLBACK_LIFETIME.dividedBy(2).toNanos();
+    // Dialogs compiled into the server registry at bootstrap; they are opened by reference
+    private static final Set<String> registeredStatic = ConcurrentHashMap.newKeySet();
+    private static final Map<String, Dialog> staticDialogs = new ConcurrentHashMap<>();
+    // Dialogs built from other config (e.g. server links) instead of a file in the dialogs folder
+    private static final Map<String, GeneratedDialog> generatedDialogs = new ConcurrentHashMap<>();
+
+    /**
+     * Namespace of the registry keys of static dialogs.
+     */
+    public static final String STATIC_NAMESPACE = "cubdialogs";
 
     private static BodyBuilder bodyBuilder;
     private static ButtonBuilder buttonBuilder;
     private static InputBuilder inputBuilder;
 
+    private static final String DEFAULT_PERMISSION_OPEN = "cubdialogs.dialog.open.*";
+    private static final String DEFAULT_PERMISSION_REMOTE = "cubdialogs.dialog.remote.*";
+
     private DialogConfigManager() {}
 
+    /**
+     * An input declared in a dialog's "inputs" list.
+     */
+    public record InputField(String id, String type) {}
+
+    /**
+     * When a dialog opens by itself on join ("trigger" in the dialog file).
+     *
+     * @param untilAccepted true for join_until_accepted (every join until accepted), false for first_join (once)
+     * @param version       bumping it shows the dialog again to players who saw or accepted an older version
+     * @param delayTicks    delay after joining before the dialog opens
+     * @param priority      if several dialogs are due, the highest priority opens first
+     */
+    public record JoinTrigger(boolean untilAccepted, int version, long delayTicks, int priority) {}
+
+    /**
+     * The two halves of a compiled dialog, as needed by the registry entry builder.
+     */
+    public record DialogParts(DialogBase base, DialogType type) {}
+
     public static void init(JavaPlugin pl) {
         plugin = pl;
-        bodyBuilder = new BodyBuilder(pl);
-        buttonBuilder = new ButtonBuilder(pl);
-        inputBuilder = new InputBuilder(pl);
+        logger = pl.getLogger();
+        dataFolder = pl.getDataFolder();
+        bodyBuilder = new BodyBuilder(logger);
+        buttonBuilder = new ButtonBuilder(logger);
+        inputBuilder = new InputBuilder(logger);
+        maxLocaleVariants = ConfigManager.getInt("localization.max_cached_variants", 64);
+        BodyBuilder.TYPES.onChange(name -> invalidateComponentType("body", name));
+        InputBuilder.TYPES.onChange(name -> invalidateComponentType("input", name));
+        ButtonBuilder.TYPES.onChange(name -> invalidateComponentType("action", name));
 
         ensureDialogsFolder();
         loadAllDialogConfigs();
     }
 
+    /**
+     * Loads the dialog files during plugin bootstrap, before the plugin instance exists, so that
+     * static dialogs can be compiled into the server's dialog registry. Default files are not
+     * copied and validation is skipped; {@link #init(JavaPlugin)} does both when the plugin enables.
+     */
+    public static void initBootstrap(Logger bootstrapLogger, Path dataDirectory) {
+        logger = bootstrapLogger;
+        dataFolder = dataDirectory.toFile();
+        bodyBuilder = new BodyBuilder(logger);
+        buttonBuilder = new ButtonBuilder(logger);
+        inputBuilder = new InputBuilder(logger);
+
+        loadAllDialogConfigs();
+    }
+
     public static NamedTextColor parseNamedColor(String v) {
         NamedTextColor color = NamedTextColor.NAMES.value(v);
         if (color == null) {
@@ -57,7 +156,7 @@ public class DialogConfigManager {
     }
 
     private static void ensureDialogsFolder() {
-        File dataFolder = plugin.getDataFolder();
+        File dataFolder = dataFolder;
         if (!dataFolder.exists()) {
             //noinspection ResultOfMethodCallIgnored
             dataFolder.mkdirs();
@@ -67,10 +166,21 @@ public class DialogConfigManager {
         if (!dialogsFolder.exists()) {
             //noinspection ResultOfMethodCallIgnored
             dialogsFolder.mkdirs();
-            plugin.getLogger().info("Created dialogs folder at: " + dialogsFolder.getPath());
+            logger.info("Created dialogs folder at: " + dialogsFolder.getPath());
         }
 
         copyDefaultDialogFiles(dialogsFolder);
+
+        // Shared bodies, inputs and buttons for "include"
+        File fragmentsFolder = new File(dataFolder, "fragments");
+        if (!fragmentsFolder.exists()) {
+            try {
+                plugin.saveResource("fragments/common.yml", false);
+                logger.info("Created default fragments file: common.yml");
+            } catch (IllegalArgumentException ignored) {
+                logger.fine("Default fragments resource not found: fragments/common.yml");
+            }
+        }
     }
 
     private static void copyDefaultDialogFiles(File dialogsFolder) {
@@ -84,6 +194,7 @@ public class DialogConfigManager {
         // Template files that should live under /dialogs/templates
         String[] templateDialogs = {
                 "confirmation.yml",
+                "dialog_list.yml",
                 "multiaction.yml",
                 "notice.yml",
                 "reward_notice.yml"
@@ -95,9 +206,9 @@ public class DialogConfigManager {
             if (!targetFile.exists()) {
                 try {
                     plugin.saveResource("dialogs/" + dialogFile, false);
-                    plugin.getLogger().info("Created default dialog file: " + dialogFile);
+                    logger.info("Created default dialog file: " + dialogFile);
                 } catch (IllegalArgumentException ignored) {
-                    plugin.getLogger().fine("Default dialog resource not found: dialogs/" + dialogFile);
+                    logger.fine("Default dialog resource not found: dialogs/" + dialogFile);
                 }
             }
         }
@@ -109,52 +220,160 @@ public class DialogConfigManager {
             if (!targetFile.exists()) {
                 try {
                     plugin.saveResource("dialogs/templates/" + dialogFile, false);
-                    plugin.getLogger().info("Created default template dialog file: " + dialogFile);
+                    logger.info("Created default template dialog file: " + dialogFile);
                 } catch (IllegalArgumentException ignored) {
-                    plugin.getLogger().fine("Default dialog resource not found: dialogs/templates/" + dialogFile);
+                    logger.fine("Default dialog resource not found: dialogs/templates/" + dialogFile);
                 }
             }
         }
     }
 
 
-    private static void loadAllDialogConfigs() {
-        File dialogsFolder = new File(plugin.getDataFolder(), "dialogs");
+    private static synchronized void loadAllDialogConfigs() {
+        reloadFiles(true);
+    }
+
+    /**
+     * Reads the dialog files and publishes the result. A full load reads every file. Otherwise only
+     * files whose size or modification time changed are read again, and only they and the dialogs
+     * extending them (directly or through other templates) are resolved and compiled again.
+     *
+     * @return number of dialogs that were compiled again
+     */
+    private static synchronized int reloadFiles(boolean full) {
+        File dialogsFolder = new File(dataFolder, "dialogs");
         if (!dialogsFolder.exists() || !dialogsFolder.isDirectory()) {
-            plugin.getLogger().warning("Dialogs folder not found or is not a directory!");
-            return;
+            logger.warning("Dialogs folder not found or is not a directory!");
+            return 0;
         }
 
         List<File> yamlFiles = collectYamlFilesRecursive(dialogsFolder);
         if (yamlFiles.isEmpty()) {
-            plugin.getLogger().warning("No dialog configuration files found in dialogs folder!");
-            return;
+            logger.warning("No dialog configuration files found in dialogs folder!");
+            return 0;
         }
 
-        dialogConfigs.clear();
-        availableDialogIds.clear();
+        if (full) {
+            fileConfigs.clear();
+            fileStamps.clear();
+            dialogConfigs.clear();
+            availableDialogIds.clear();
+        }
 
+        Set<String> present = new HashSet<>();
+        Set<String> changed = new HashSet<>();
         for (File yamlFile : yamlFiles) {
             String dialogId = toRelativeId(dialogsFolder, yamlFile);
+            present.add(dialogId);
 
+            FileStamp stamp = new FileStamp(yamlFile.lastModified(), yamlFile.length());
+            if (stamp.equals(fileStamps.get(dialogId))) {
+                continue;
+            }
             try {
                 FileConfiguration config = YamlConfiguration.loadConfiguration(yamlFile);
-                dialogConfigs.put(dialogId, config);
-                availableDialogIds.add(dialogId);
-                plugin.getLogger().info("Loaded dialog configuration: " + dialogId);
+                fileConfigs.put(dialogId, config);
+                fileStamps.put(dialogId, stamp);
+                changed.add(dialogId);
+                logger.info("Loaded dialog configuration: " + dialogId);
             } catch (Exception e) {
-                plugin.getLogger().severe("Failed to load dialog configuration from " + yamlFile.getPath() + ": " + e.getMessage());
+                logger.severe("Failed to load dialog configuration from " + yamlFile.getPath() + ": " + e.getMessage());
+            }
+        }
+        for (String removed : new ArrayList<>(fileConfigs.keySet())) {
+            if (!present.contains(removed)) {
+                fileConfigs.remove(removed);
+                fileStamps.remove(removed);
+                changed.add(removed);
             }
         }
 
-        plugin.getLogger().info("Loaded " + dialogConfigs.size() + " dialog configurations");
+        // Dialogs inheriting from a changed file change with it; links that were just removed count too
+        DialogInheritance previous = inheritance;
+        inheritance = DialogInheritance.build(fileConfigs);
+        Set<String> affected = new HashSet<>(changed);
+        affected.addAll(previous.dependentsOf(changed));
+        affected.addAll(inheritance.dependentsOf(changed));
+
+        for (String id : affected) {
+            FileConfiguration resolved = DialogInheritance.resolve(id, fileConfigs, logger);
+            if (resolved != null) {
+                dialogConfigs.put(id, resolved);
+                availableDialogIds.add(id);
+            } else {
+                dialogConfigs.remove(id);
+                availableDialogIds.remove(id);
+            }
+        }
+
+        // Fragments are compared by content, so what was built from unchanged ones stays shared;
+        // dialogs including a changed fragment are compiled again
+        FragmentLibrary previousFragments = fragments;
+        FragmentLibrary reloadedFragments = FragmentLibrary.load(new File(dataFolder, "fragments"), logger);
+        Set<String> changedFragments = previousFragments.changedNames(reloadedFragments);
+        fragments = previousFragments.keepIfUnchanged(reloadedFragments);
+        if (!changedFragments.isEmpty()) {
+            for (Map.Entry<String, FileConfiguration> entry : dialogConfigs.entrySet()) {
+                if (!Collections.disjoint(FragmentLibrary.includes(entry.getValue()), changedFragments)) {
+                    affected.add(entry.getKey());
+                }
+            }
+        }
+
+        // Translations are merged in lazily, per locale that is actually opened
+        localeOverlays = LocaleOverlays.load(new File(dataFolder, "lang"), dialogConfigs, maxLocaleVariants, logger);
+
+        // Precompute what open checks need so they do not walk the YAML tree;
+        // unchanged dialogs keep their compiled metadata unless their translations changed
+        Map<String, DialogMeta> metas = new HashMap<>();
+        int compiled = 0;
+        for (Map.Entry<String, FileConfiguration> entry : dialogConfigs.entrySet()) {
+            String id = entry.getKey();
+            DialogMeta current = dialogMetas.get(id);
+            if (!affected.contains(id) && current != null && current.locales().equals(localeOverlays.locales(id))) {
+                metas.put(id, current);
+            } else {
+                metas.put(id, computeMeta(id, entry.getValue()));
+                compiled++;
+            }
+        }
+        // A dialog file with the same id replaces a generated dialog
+        generatedDialogs.forEach((id, generated) -> metas.putIfAbsent(id, generated.meta()));
+        dialogMetas = Map.copyOf(metas);
+        dialogIdIndex = new DialogIdIndex(metas.keySet());
+
+        generation.incrementAndGet();
+        if (full) {
+            logger.info("Loaded " + dialogConfigs.size() + " dialog configurations");
+        } else {
+            logger.info("Recompiled " + compiled + " of " + dialogConfigs.size() + " dialog configurations");
+        }
+
+        if (!registeredStatic.isEmpty() && plugin != null) {
+            logger.fine("Static dialogs stay as registered at startup; restart the server to apply changes to them");
+        }
+
+        // Validate all loaded configurations, or just the ones that changed
+        if (plugin != null) {
+            List<DialogConfigValidator.ValidationIssue> issues;
+            if (full) {
+                issues = DialogConfigValidator.validateAllDialogs(plugin);
+            } else {
+                issues = new ArrayList<>();
+                for (String id : affected) {
+                    FileConfiguration config = dialogConfigs.get(id);
+                    if (config != null) issues.addAll(DialogConfigValidator.validateDialog(id, config));
+                }
+            }
+            DialogConfigValidator.logValidationIssues(plugin, issues);
+        }
+        return compiled;
+    }
 
-        // Validate all loaded configurations
-        List<DialogConfigValidator.ValidationIssue> issues = DialogConfigValidator.validateAllDialogs(plugin);
-        DialogConfigValidator.logValidationIssues(plugin, issues);
+    private record FileStamp(long modified, long size) {
     }
 
-    private static List<File> collectYamlFilesRecursive(File root) {
+    static List<File> collectYamlFilesRecursive(File root) {
         List<File> files = new ArrayList<>();
         File[] children = root.listFiles();
         if (children == null) return files;
@@ -169,7 +388,7 @@ public class DialogConfigManager {
         return files;
     }
 
-    private static String toRelativeId(File root, File file) {
+    static String toRelativeId(File root, File file) {
         String rel = root.toPath().relativize(file.toPath()).toString();
         rel = rel.replace(File.separatorChar, '/');
         if (rel.toLowerCase(Locale.ROOT).endsWith(".yml")) {
@@ -178,13 +397,92 @@ public class DialogConfigManager {
         return rel;
     }
 
+    /**
+     * Returns the generation of the currently loaded dialog snapshot.
+     * Incremented every time the dialog configurations are (re)loaded.
+     */
+    public static long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Called when the handler of a dialog type is registered, replaced or removed. Dialogs of that
+     * type are rebuilt on their next open; shared builds and sessions see a new generation.
+     * Static dialogs keep the registry entry they were compiled into at startup.
+     */
+    public static void invalidateType(String type) {
+        boolean used = false;
+        for (DialogMeta meta : dialogMetas.values()) {
+            if (!meta.type().equals(type)) continue;
+            used = true;
+            if (meta.staticDialog() && registeredStatic.contains(meta.id()) && logger != null) {
+                logger.warning("Static dialog " + meta.id() + " keeps its old " + type + " handler until the server restarts");
+            }
+        }
+        if (used) {
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * Called when an addon registers or removes a body, input or action type. If a loaded dialog
+     * uses the type, the generation is bumped so cached builds made with the previous builder are
+     * dropped, as for dialog types.
+     *
+     * @param kind "body", "input" or "action"
+     */
+    public static void invalidateComponentType(String kind, String name) {
+        boolean used = false;
+        for (DialogMeta meta : dialogMetas.values()) {
+            used = switch (kind) {
+                case "body" -> meta.bodies().stream().anyMatch(spec -> spec.slot().name().equals(name));
+                case "input" -> meta.inputs().stream().anyMatch(spec -> spec.slot().name().equals(name));
+                default -> {
+                    FileConfiguration config = dialogConfigs.get(meta.id());
+                    yield config != null && usesType(fragments.expandAll(config), name);
+                }
+            };
+            if (used) break;
+        }
+        if (used) {
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * True if any entry in the file has the given "type" (matches dialog, body and input types too,
+     * which only makes the check err on the side of rebuilding).
+     */
+    private static boolean usesType(Object node, String name) {
+        if (node instanceof Map<?, ?> map) {
+            if (map.get("type") instanceof String type && type.equalsIgnoreCase(name)) {
+                return true;
+            }
+            return map.values().stream().anyMatch(value -> usesType(value, name));
+        }
+        return node instanceof List<?> list && list.stream().anyMatch(entry -> usesType(entry, name));
+    }
+
+    /**
+     * Returns the precomputed metadata of a dialog, or null if it is not loaded.
+     */
+    public static DialogMeta getMeta(String id) {
+        return id == null ? null : dialogMetas.get(id);
+    }
+
+    /**
+     * Returns the sorted id index used for tab completion. Replaced on every reload.
+     */
+    public static DialogIdIndex getIdIndex() {
+        return dialogIdIndex;
+    }
+
     /**
      * Returns true if the dialog is enabled in its config. Defaults to true when missing.
      */
     public static boolean isEnabled(String id) {
-        FileConfiguration cfg = dialogConfigs.get(id);
-        if (cfg == null) return false;
-        return cfg.getBoolean("enabled", true);
+        DialogMeta meta = getMeta(id);
+        return meta != null && meta.enabled();
     }
 
     /**
@@ -192,9 +490,8 @@ public class DialogConfigManager {
      * Falls back to a sensible default if missing.
      */
     public static String getPermissionToOpen(String id) {
-        FileConfiguration cfg = dialogConfigs.get(id);
-        if (cfg == null) return "cubDialogs.dialog.open.*";
-        return cfg.getString("permission_to_open", "cubDialogs.dialog.open.*");
+        DialogMeta meta = getMeta(id);
+        return meta != null ? meta.permissionToOpen() : DEFAULT_PERMISSION_OPEN;
     }
 
     /**
@@ -202,109 +499,833 @@ public class DialogConfigManager {
      * Falls back to a sensible default if missing.
      */
     public static String getPermissionToOpenRemote(String id) {
-        FileConfiguration cfg = dialogConfigs.get(id);
-        if (cfg == null) return "cubDialogs.dialog.remote.*";
-        return cfg.getString("permission_to_open_remote", "cubDialogs.dialog.remote.*");
+        DialogMeta meta = getMeta(id);
+        return meta != null ? meta.permissionToOpenRemote() : DEFAULT_PERMISSION_REMOTE;
+    }
+
+    /**
+     * Returns true if the dialog opted in to saving partially filled forms ("drafts").
+     */
+    public static boolean isDraftsEnabled(String id) {
+        DialogMeta meta = getMeta(id);
+        return meta != null && meta.draftsEnabled();
+    }
+
+    /**
+     * Returns true if the dialog looks different per viewer, so it has to be built when it is opened.
+     */
+    public static boolean isBuiltPerViewer(String id) {
+        DialogMeta meta = getMeta(id);
+        return meta != null && meta.builtPerViewer();
+    }
+
+    /**
+     * Custom action keys that submit the form and therefore discard the saved draft.
+     */
+    public static Set<String> getDraftClearKeys(String id) {
+        DialogMeta meta = getMeta(id);
+        return meta != null ? meta.draftClearKeys() : Collections.emptySet();
+    }
+
+    /**
+     * Returns the join trigger of a dialog, or null if it does not open on join.
+     */
+    public static JoinTrigger getJoinTrigger(String id) {
+        DialogMeta meta = getMeta(id);
+        return meta != null ? meta.joinTrigger() : null;
+    }
+
+    /**
+     * Returns the inputs declared by a dialog, in file order.
+     */
+    public static List<InputField> getInputFields(String id) {
+        DialogMeta meta = getMeta(id);
+        return meta != null ? meta.inputFields() : Collections.emptyList();
+    }
+
+    private static DialogMeta computeMeta(String id, FileConfiguration cfg) {
+        boolean staticDialog = readStatic(id, cfg);
+        return new DialogMeta(
+                id,
+                cfg.getString("type", "notice").toLowerCase(Locale.ROOT),
+                cfg.getBoolean("enabled", true),
+                cfg.getString("external_title", cfg.getString("title", id)),
+                staticDialog,
+                readClientTag(id, cfg, "quick_action", staticDialog),
+                readClientTag(id, cfg, "pause_screen", staticDialog),
+                permissionNode(cfg.getString("permission_to_open", DEFAULT_PERMISSION_OPEN)),
+                permissionNode(cfg.getString("permission_to_open_remote", DEFAULT_PERMISSION_REMOTE)),
+                readDraftsEnabled(cfg),
+                new HashSet<>(cfg.getStringList("drafts.clear_on")),
+                readJoinTrigger(id, cfg),
+                readInputFields(cfg),
+                hasProviderBodies(cfg, true),
+                hasProviderBodies(cfg, false),
+                hasServerActions(cfg),
+                compileBodies(cfg),
+                compileInputs(cfg),
+                compileVisibility(id, cfg, staticDialog),
+                localeOverlays.locales(id)
+        );
+    }
+
+    /**
+     * Compiles every "visible_if" in the file. Static dialogs are built without a viewer, so their
+     * viewer-dependent elements are always hidden.
+     */
+    private static VisibilityRules compileVisibility(String id, FileConfiguration cfg, boolean staticDialog) {
+        // Fragments may carry their own "visible_if", so conditions are collected with includes merged in
+        Configuration expanded = FragmentLibrary.includes(cfg).isEmpty()
+                ? cfg
+                : ConfigMaps.toConfiguration(fragments.expandAll(cfg));
+        VisibilityRules rules = VisibilityRules.compile(expanded, message -> logger.warning("Dialog " + id + ": " + message));
+        if (rules != null && rules.perPlayer() && staticDialog) {
+            logger.warning("Dialog " + id + " is static; elements with a player-dependent visible_if are never shown");
+        }
+        return rules;
+    }
+
+    /**
+     * Resolves the "bodies" entries to their body type once, so builds call the builder directly.
+     */
+    private static List<ComponentRegistry.Spec<BodyType>> compileBodies(FileConfiguration cfg) {
+        List<ComponentRegistry.Spec<BodyType>> specs = new ArrayList<>();
+        List<?> bodiesList = cfg.getList("bodies");
+        if (bodiesList == null) return specs;
+        for (Object bodyData : bodiesList) {
+            Configuration bodyConfig = FragmentLibrary.includeName(bodyData) != null
+                    ? fragments.expand("body", bodyData, DialogConfigManager::toConfiguration, logger)
+                    : toConfiguration(bodyData);
+            ComponentRegistry.Spec<BodyType> spec = bodyConfig != null ? bodyBuilder.compile(bodyConfig) : null;
+            if (spec != null) specs.add(spec);
+        }
+        return specs;
+    }
+
+    /**
+     * Resolves the "inputs" entries to their input type once, so builds call the builder directly.
+     */
+    private static List<ComponentRegistry.Spec<InputType>> compileInputs(FileConfiguration cfg) {
+        List<ComponentRegistry.Spec<InputType>> specs = new ArrayList<>();
+        List<?> inputsList = cfg.getList("inputs");
+        if (inputsList == null) return specs;
+        for (Object inputData : inputsList) {
+            if (FragmentLibrary.includeName(inputData) != null) {
+                Configuration inputConfig = fragments.expand("input", inputData, DialogConfigManager::toConfiguration, logger);
+                if (inputConfig != null) specs.add(inputBuilder.compile(inputConfig));
+            } else if (inputData instanceof Map<?, ?>) {
+                specs.add(inputBuilder.compile(toConfiguration(inputData)));
+            } else {
+                logger.warning("Input entry in " + cfg.getName() + " is not a map, skipping");
+            }
+        }
+        return specs;
+    }
+
+    /**
+     * Converts a list entry (map or section) to a standalone configuration.
+     */
+    private static Configuration toConfiguration(Object data) {
+        if (data instanceof Configuration config) {
+            return config;
+        }
+        MemoryConfiguration tempConfig = new MemoryConfiguration();
+        if (data instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                tempConfig.set(entry.getKey().toString(), entry.getValue());
+            }
+        } else if (data instanceof ConfigurationSection section) {
+            for (String key : section.getKeys(true)) {
+                tempConfig.set(key, section.get(key));
+            }
+        } else {
+            return null;
+        }
+        return tempConfig;
+    }
+
+    /**
+     * True if any body is a provider (only those cached per player if perPlayerOnly). Providers
+     * refresh over time, so builds containing one are never cached.
+     */
+    private static boolean hasProviderBodies(FileConfiguration cfg, boolean perPlayerOnly) {
+        for (Map<?, ?> entry : cfg.getMapList("bodies")) {
+            Map<?, ?> body = fragments.definition(entry);
+            if ("provider".equalsIgnoreCase(String.valueOf(body.get("type")))
+                    && (!perPlayerOnly || "player".equalsIgnoreCase(String.valueOf(body.get("scope"))))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True if any button runs an action with a server-side side effect (commands, responses,
+     * accept, action lists, addon actions), including buttons from included fragments.
+     */
+    private static boolean hasServerActions(FileConfiguration cfg) {
+        return hasServerActions(fragments.expandAll(cfg));
+    }
+
+    private static boolean hasServerActions(Object node) {
+        if (node instanceof Map<?, ?> map) {
+            if (map.get("actions") instanceof List<?> steps && !steps.isEmpty()) {
+                return true;
+            }
+            if (map.get("action") instanceof Map<?, ?> action
+                    && ButtonBuilder.hasSideEffects(action.get("type") != null ? String.valueOf(action.get("type")) : "return")) {
+                return true;
+            }
+            return map.values().stream().anyMatch(DialogConfigManager::hasServerActions);
+        }
+        return node instanceof List<?> list && list.stream().anyMatch(DialogConfigManager::hasServerActions);
+    }
+
+    /**
+     * Permission checks are case-insensitive, so nodes are normalized once and shared.
+     */
+    private static String permissionNode(String permission) {
+        return permission.toLowerCase(Locale.ROOT).intern();
+    }
+
+    /**
+     * "static: true" compiles the dialog into the server registry at startup. Drafts need a
+     * per-player build, so the two cannot be combined.
+     */
+    private static boolean readStatic(String id, FileConfiguration cfg) {
+        if (!cfg.getBoolean("static", false)) return false;
+        if (readDraftsEnabled(cfg)) {
+            logger.warning("Dialog " + id + " uses drafts and cannot be static; it is built per open instead");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Client-side entry points (quick actions, pause menu) reference registry dialogs by tag,
+     * so they are only available for static dialogs.
+     */
+    private static boolean readClientTag(String id, FileConfiguration cfg, String path, boolean staticDialog) {
+        if (!cfg.getBoolean(path, false)) return false;
+        if (!staticDialog) {
+            logger.warning("Dialog " + id + " sets " + path + " but is not static; add 'static: true' to use it");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Accepts both "drafts: true" and a "drafts:" section with "enabled".
+     */
+    private static boolean readDraftsEnabled(FileConfiguration cfg) {
+        if (cfg.isConfigurationSection("drafts")) {
+            return cfg.getBoolean("drafts.enabled", true);
+        }
+        return cfg.getBoolean("drafts", false);
+    }
+
+    /**
+     * Accepts "trigger: first_join" and a "trigger:" section with type, version, delay_ticks and priority.
+     */
+    private static JoinTrigger readJoinTrigger(String id, FileConfiguration cfg) {
+        String type;
+        int version = 1;
+        long delay = 20L;
+        int priority = 0;
+        if (cfg.isConfigurationSection("trigger")) {
+            type = cfg.getString("trigger.type", "");
+            version = cfg.getInt("trigger.version", 1);
+            delay = cfg.getLong("trigger.delay_ticks", 20L);
+            priority = cfg.getInt("trigger.priority", 0);
+        } else {
+            type = cfg.getString("trigger", "");
+        }
+
+        return switch (type.toLowerCase(Locale.ROOT)) {
+            case "first_join" -> new JoinTrigger(false, Math.max(1, version), Math.max(0, delay), priority);
+            case "join_until_accepted" -> new JoinTrigger(true, Math.max(1, version), Math.max(0, delay), priority);
+            case "" -> null;
+            default -> {
+                logger.warning("Unknown trigger '" + type + "' in dialog " + id);
+                yield null;
+            }
+        };
+    }
+
+    private static List<InputField> readInputFields(FileConfiguration cfg) {
+        List<?> inputsList = cfg.getList("inputs");
+        if (inputsList == null) return Collections.emptyList();
+
+        List<InputField> fields = new ArrayList<>();
+        for (Object inputData : inputsList) {
+            if (!(inputData instanceof Map<?, ?> entry)) continue;
+            Map<?, ?> inputMap = fragments.definition(entry);
+            if (inputMap.get("id") instanceof String inputId) {
+                Object type = inputMap.get("type");
+                fields.add(new InputField(inputId, type != null ? type.toString().toLowerCase(Locale.ROOT) : "text"));
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Reads the submitted values of every declared input as strings, keyed by input id.
+     * Inputs without a value in the payload are skipped.
+     */
+    public static Map<String, String> readInputValues(String id, PayloadView payload) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (InputField field : getInputFields(id)) {
+            Object value = readInputValue(field, payload);
+            if (value != null) {
+                values.put(field.id(), value.toString());
+            }
+        }
+        return values;
+    }
+
+    private static Object readInputValue(InputField field, PayloadView payload) {
+        return switch (field.type()) {
+            case "number_range" -> payload.getFloat(field.id());
+            case "boolean" -> payload.getBoolean(field.id());
+            default -> payload.getText(field.id());
+        };
+    }
+
+    /**
+     * Id of the dialog currently being built on this thread, or null outside a build.
+     * Lets component builders tie actions to the dialog they belong to.
+     */
+    public static String getBuildingDialogId() {
+        return buildingDialogId.get();
     }
 
     public static Dialog buildDialog(String id) {
-        if (plugin == null) {
+        return buildDialog(id, Collections.emptyMap());
+    }
+
+    /**
+     * Builds a dialog, replacing the 'initial' value of inputs with the given values (e.g. a saved draft).
+     *
+     * @param id               dialog id
+     * @param initialOverrides input id to value; values are converted to the input's type
+     */
+    public static Dialog buildDialog(String id, Map<String, String> initialOverrides) {
+        if (!dialogConfigs.containsKey(id)) {
+            GeneratedDialog generated = generatedDialogs.get(id);
+            if (generated != null) {
+                return generated.dialog();
+            }
+        }
+
+        // Static dialogs are already known to the client; send only the registry reference
+        if (registeredStatic.contains(id) && !isBuildingStatic()) {
+            Dialog registered = lookupStatic(id);
+            if (registered != null) {
+                return registered;
+            }
+        }
+
+        DialogParts parts = compileParts(id, initialOverrides);
+        return parts == null ? null : Dialog.create(b -> b.empty().base(parts.base()).type(parts.type()));
+    }
+
+    /**
+     * Builds a dialog for one viewer. Bodies that depend on the viewer (per-player providers) read it
+     * through {@link #getBuildingViewer()}; other builders ignore it.
+     */
+    public static Dialog buildDialogFor(Player viewer, String id, Map<String, String> initialOverrides) {
+        BitSet outcome = evaluateVisibility(viewer, id);
+        String locale = resolveLocale(viewer, id);
+
+        // Viewers with the same outcome vector and locale get the same dialog, unless a provider body
+        // keeps changing it or its buttons have side effects
+        BuiltVariant variant = null;
+        if ((outcome != null || locale != null) && initialOverrides.isEmpty() && isCacheable(getMeta(id))) {
+            variant = new BuiltVariant(id, generation.get(), 0, outcome, locale);
+            Dialog cached = cachedVariant(variant);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Dialog dialog = buildAs(viewer, outcome, locale, variant == null, () -> buildDialog(id, initialOverrides));
+        if (variant != null && dialog != null) {
+            cacheVariant(variant, dialog);
+        }
+        return dialog;
+    }
+
+    /**
+     * True if builds of the dialog may be kept and shown again: no provider body changes its text
+     * and no button has a server-side side effect, whose callbacks are single-use.
+     */
+    private static boolean isCacheable(DialogMeta meta) {
+        return meta != null && !meta.providerBodies() && !meta.serverActions();
+    }
+
+    /**
+     * Outcome vector of the dialog's "visible_if" conditions for the viewer, or null if nothing in
+     * the dialog depends on the viewer.
+     */
+    private static BitSet evaluateVisibility(Player viewer, String id) {
+        DialogMeta meta = getMeta(id);
+        VisibilityRules rules = meta != null ? meta.visibility() : null;
+        return rules != null && rules.perPlayer() && viewer != null && !registeredStatic.contains(id)
+                ? rules.evaluate(viewer)
+                : null;
+    }
+
+    /**
+     * Overlay locale for the viewer's client language, or null if the dialog's own text applies.
+     * Static dialogs are sent by registry reference and are never translated.
+     */
+    private static String resolveLocale(Player viewer, String id) {
+        if (viewer == null || registeredStatic.contains(id)) {
+            return null;
+        }
+        DialogMeta meta = getMeta(id);
+        return meta != null && !meta.locales().isEmpty() ? localeOverlays.resolve(id, viewer.locale()) : null;
+    }
+
+    /**
+     * Runs a build with the viewer, its visibility outcome and locale set for the builders on this thread.
+     *
+     * @param singleOpen true if the build is shown once to the viewer and never kept
+     */
+    private static Dialog buildAs(Player viewer, BitSet outcome, String locale, boolean singleOpen, Supplier<Dialog> build) {
+        Player previous = buildingViewer.get();
+        BitSet previousOutcome = buildingOutcome.get();
+        String previousLocale = buildingLocale.get();
+        Boolean previousSingleOpen = buildingSingleOpen.get();
+        buildingViewer.set(viewer);
+        buildingOutcome.set(outcome);
+        buildingLocale.set(locale);
+        buildingSingleOpen.set(singleOpen && viewer != null);
+        try {
+            return build.get();
+        } finally {
+            if (previousSingleOpen == null) {
+                buildingSingleOpen.remove();
+            } else {
+                buildingSingleOpen.set(previousSingleOpen);
+            }
+            if (previous == null) {
+                buildingViewer.remove();
+            } else {
+                buildingViewer.set(previous);
+            }
+            if (previousOutcome == null) {
+                buildingOutcome.remove();
+            } else {
+                buildingOutcome.set(previousOutcome);
+            }
+            if (previousLocale == null) {
+                buildingLocale.remove();
+            } else {
+                buildingLocale.set(previousLocale);
+            }
+        }
+    }
+
+    /**
+     * A cached build: one page of a dialog for one generation, visibility outcome (null if the
+     * dialog looks the same for everyone) and locale (null for the dialog's own text).
+     */
+    private record BuiltVariant(String id, long generation, int page, BitSet outcome, String locale) {
+    }
+
+    private record CachedBuild(Dialog dialog, long builtAt) {
+    }
+
+    /**
+     * Returns the cached build, or null if there is none or its callbacks are getting close to expiring.
+     */
+    private static Dialog cachedVariant(BuiltVariant variant) {
+        CachedBuild cached = builtVariants.get(variant);
+        if (cached == null) {
+            return null;
+        }
+        if (System.nanoTime() - cached.builtAt() > MAX_BUILD_AGE_NANOS) {
+            builtVariants.remove(variant, cached);
+            return null;
+        }
+        return cached.dialog();
+    }
+
+    private static void cacheVariant(BuiltVariant variant, Dialog dialog) {
+        long current = generation.get();
+        if (variant.generation() != current) {
+            return;
+        }
+        if (builtVariants.size() >= MAX_BUILT_VARIANTS) {
+            builtVariants.clear();
+        }
+        builtVariants.keySet().removeIf(key -> key.generation() != current);
+        builtVariants.put(variant, new CachedBuild(dialog, System.nanoTime()));
+    }
+
+    /**
+     * Decides whether a body, input or button entry of the dialog being built is shown, by its
+     * "visible_if". Outside a build, or for entries without one, this is always true. Builds without
+     * a viewer (shared or static builds) hide entries whose condition depends on the player.
+     *
+     * @param element the entry as a map or configuration section
+     */
+    public static boolean isVisible(Object element) {
+        String id = buildingDialogId.get();
+        DialogMeta meta = id != null ? dialogMetas.get(id) : null;
+        VisibilityRules rules = meta != null ? meta.visibility() : null;
+        if (rules == null) {
+            return true;
+        }
+        // An entry that includes a fragment is decided by its own "visible_if", else the fragment's
+        Object decided = FragmentLibrary.includeName(element) != null ? fragments.definition(element) : element;
+        return rules.isVisible(decided, buildingOutcome.get());
+    }
+
+    /**
+     * Player the dialog on this thread is being built for, or null for builds shared between players.
+     */
+    public static Player getBuildingViewer() {
+        return buildingViewer.get();
+    }
+
+    /**
+     * Builds one page of a paginated dialog (dialog_list, multi_action with page_size).
+     * Page numbers start at 0; type handlers read it with {@link #getBuildingPage()}.
+     */
+    public static Dialog buildDialogPage(String id, int page) {
+        return buildDialogPage(null, id, page);
+    }
+
+    /**
+     * Builds one page of a paginated dialog for a viewer (null for a shared build). Pages after the
+     * first are built the first time someone navigates to them and cached until the next generation,
+     * per visibility outcome if the dialog has viewer-dependent "visible_if". Dialogs with provider
+     * bodies or side-effecting buttons are built every time.
+     */
+    public static Dialog buildDialogPage(Player viewer, String id, int page) {
+        if (page <= 0) {
+            return viewer != null ? buildDialogFor(viewer, id, Collections.emptyMap()) : buildDialog(id);
+        }
+        DialogMeta meta = getMeta(id);
+        BitSet outcome = evaluateVisibility(viewer, id);
+        String locale = resolveLocale(viewer, id);
+        BuiltVariant variant = null;
+        if (isCacheable(meta)) {
+            variant = new BuiltVariant(id, generation.get(), page, outcome, locale);
+            Dialog cached = cachedVariant(variant);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        buildingPage.set(page);
+        try {
+            Dialog dialog = buildAs(viewer, outcome, locale, variant == null, () -> {
+                DialogParts parts = compileParts(id, Collections.emptyMap());
+                return parts == null ? null : Dialog.create(b -> b.empty().base(parts.base()).type(parts.type()));
+            });
+            if (variant != null && dialog != null) {
+                cacheVariant(variant, dialog);
+            }
+            return dialog;
+        } finally {
+            buildingPage.remove();
+        }
+    }
+
+    /**
+     * A dialog compiled from other configuration, with the metadata open checks need.
+     */
+    private record GeneratedDialog(DialogMeta meta, Dialog dialog) {
+    }
+
+    /**
+     * Publishes a dialog compiled elsewhere (e.g. from the server links config) under the given id,
+     * replacing any earlier version. A file in the dialogs folder with the same id takes precedence.
+     *
+     * @param permissionToOpen permission to open it, or null for the default
+     */
+    public static synchronized void putGeneratedDialog(String id, String externalTitle, String permissionToOpen, Dialog dialog) {
+        DialogMeta meta = new DialogMeta(
+                id,
+                "generated",
+                true,
+                externalTitle,
+                false,
+                false,
+                false,
+                permissionNode(permissionToOpen != null ? permissionToOpen : DEFAULT_PERMISSION_OPEN),
+                permissionNode(DEFAULT_PERMISSION_REMOTE),
+                false,
+                Set.of(),
+                null,
+                List.of(),
+                false,
+                false,
+                false,
+                List.of(),
+                List.of(),
+                null,
+                Set.of()
+        );
+        generatedDialogs.put(id, new GeneratedDialog(meta, dialog));
+        if (dialogConfigs.containsKey(id)) {
+            logger.info("Dialog file " + id + " overrides the generated dialog with the same id");
+            return;
+        }
+        publishMeta(id, meta);
+    }
+
+    /**
+     * Withdraws a generated dialog, e.g. when its source config no longer defines anything to show.
+     */
+    public static synchronized void removeGeneratedDialog(String id) {
+        if (generatedDialogs.remove(id) != null && !dialogConfigs.containsKey(id)) {
+            publishMeta(id, null);
+        }
+    }
+
+    private static void publishMeta(String id, DialogMeta meta) {
+        Map<String, DialogMeta> metas = new HashMap<>(dialogMetas);
+        if (meta != null) {
+            metas.put(id, meta);
+        } else {
+            metas.remove(id);
+        }
+        dialogMetas = Map.copyOf(metas);
+        dialogIdIndex = new DialogIdIndex(metas.keySet());
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Page of the dialog currently being built on this thread, 0 unless built through {@link #buildDialogPage}.
+     */
+    public static int getBuildingPage() {
+        Integer page = buildingPage.get();
+        return page != null ? page : 0;
+    }
+
+    /**
+     * True if the dialog was added to the server registry at startup.
+     */
+    public static boolean isRegisteredStatic(String id) {
+        return registeredStatic.contains(id);
+    }
+
+    /**
+     * Resolves dialog id patterns in order, without duplicates:
+     * an exact id, a folder ending in "/" (everything below it), or a glob where "*" matches
+     * within one folder level and "**" across levels.
+     *
+     * @param patterns patterns as written in the dialog file
+     * @param exclude  id to leave out (usually the listing dialog itself), may be null
+     */
+    public static List<String> resolveDialogIds(List<String> patterns, String exclude) {
+        DialogIdIndex index = dialogIdIndex;
+        Map<String, DialogMeta> metas = dialogMetas;
+        Set<String> result = new LinkedHashSet<>();
+
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isBlank()) continue;
+            String p = pattern.trim();
+
+            int wildcard = p.indexOf('*');
+            if (wildcard < 0 && !p.endsWith("/")) {
+                if (metas.containsKey(p)) result.add(p);
+                continue;
+            }
+
+            // Narrow down with the sorted index, then match the rest of the pattern
+            String prefix = wildcard < 0 ? p : p.substring(0, wildcard);
+            List<String> candidates = index.complete(prefix, Integer.MAX_VALUE, null);
+            if (wildcard < 0) {
+                result.addAll(candidates);
+                continue;
+            }
+            java.util.regex.Pattern glob = globToRegex(p);
+            for (String id : candidates) {
+                if (glob.matcher(id).matches()) result.add(id);
+            }
+        }
+
+        if (exclude != null) result.remove(exclude);
+        return new ArrayList<>(result);
+    }
+
+    private static java.util.regex.Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    regex.append(".*");
+                    i++;
+                } else {
+                    regex.append("[^/]*");
+                }
+            } else {
+                regex.append(java.util.regex.Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return java.util.regex.Pattern.compile(regex.toString(), java.util.regex.Pattern.CASE_INSENSITIVE);
+    }
+
+    /**
+     * True while a dialog is being built for one open by one player, i.e. the build is neither
+     * shared between players (bulk opens) nor cached. Its callbacks only need to work once.
+     */
+    public static boolean isBuildingForSingleOpen() {
+        return Boolean.TRUE.equals(buildingSingleOpen.get());
+    }
+
+    /**
+     * True while a static dialog is being compiled for the registry. Component builders must not
+     * use server-side callbacks then, because registry dialogs outlive any callback registration.
+     */
+    public static boolean isBuildingStatic() {
+        return Boolean.TRUE.equals(buildingStatic.get());
+    }
+
+    /**
+     * Ids of loaded dialogs marked "static: true".
+     */
+    public static List<String> getStaticDialogIds() {
+        List<String> ids = new ArrayList<>();
+        for (DialogMeta meta : dialogMetas.values()) {
+            if (meta.staticDialog()) ids.add(meta.id());
+        }
+        ids.sort(null);
+        return ids;
+    }
+
+    /**
+     * Registry key of a static dialog, e.g. "cubdialogs:templates/notice".
+     */
+    public static Key staticKey(String id) {
+        return Key.key(STATIC_NAMESPACE, id.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9/._-]", "_"));
+    }
+
+    /**
+     * Compiles a static dialog for the registry. Returns null if it cannot be built.
+     */
+    public static DialogParts compileStatic(String id) {
+        buildingStatic.set(Boolean.TRUE);
+        try {
+            return compileParts(id, Collections.emptyMap());
+        } finally {
+            buildingStatic.remove();
+        }
+    }
+
+    /**
+     * Records that a static dialog was added to the registry, so it is opened by reference from now on.
+     */
+    public static void markRegisteredStatic(String id) {
+        registeredStatic.add(id);
+    }
+
+    private static Dialog lookupStatic(String id) {
+        return staticDialogs.computeIfAbsent(id, key ->
+                RegistryAccess.registryAccess().getRegistry(RegistryKey.DIALOG).get(staticKey(key)));
+    }
+
+    private static DialogParts compileParts(String id, Map<String, String> initialOverrides) {
+        Set<String> chain = buildingChain.get();
+        if (!chain.add(id)) {
+            // Dialogs embedding each other (show_dialog, static dialog lists) would recurse forever
+            logger.warning("Dialog " + id + " embeds itself: " + String.join(" -> ", chain) + " -> " + id
+                    + "; the link is left out");
+            return null;
+        }
+        String previous = buildingDialogId.get();
+        buildingDialogId.set(id);
+        try {
+            return compileDialog(id, initialOverrides);
+        } finally {
+            chain.remove(id);
+            if (previous == null) {
+                buildingDialogId.remove();
+            } else {
+                buildingDialogId.set(previous);
+            }
+        }
+    }
+
+    /**
+     * True if the dialog is being built on this thread, i.e. embedding it now would recurse.
+     * Builders link such targets through the server (or leave them out in static dialogs) instead.
+     */
+    public static boolean isBuilding(String id) {
+        return buildingChain.get().contains(id);
+    }
+
+    private static DialogParts compileDialog(String id, Map<String, String> initialOverrides) {
+        if (logger == null) {
             // Lazy safety if init wasn't called
             init(JavaPlugin.getProvidingPlugin(DialogConfigManager.class));
         }
 
-        //plugin.getLogger().info("[DEBUG] Building dialog with ID: " + id);
+        //logger.info("[DEBUG] Building dialog with ID: " + id);
 
         FileConfiguration dialogConfig = dialogConfigs.get(id);
         if (dialogConfig == null) {
-            plugin.getLogger().warning("Dialog configuration not found for ID: " + id);
-            plugin.getLogger().info("Available dialog IDs: " + String.join(", ", availableDialogIds));
+            logger.warning("Dialog configuration not found for ID: " + id);
+            logger.info("Available dialog IDs: " + String.join(", ", availableDialogIds));
             return null;
         }
 
-        //plugin.getLogger().info("[DEBUG] Found dialog config for: " + id);
+        //logger.info("[DEBUG] Found dialog config for: " + id);
 
-        // The root of the dialog config is the entire file, not a subsection
-        ConfigurationSection root = dialogConfig;
+        // The root of the dialog config is the entire file, not a subsection;
+        // a translated build uses the file merged with the viewer's locale overlay
+        DialogMeta meta = dialogMetas.get(id);
+        LocaleOverlays.Variant localized = localizedVariant(id, dialogConfig);
+        ConfigurationSection root = localized != null ? localized.config() : dialogConfig;
 
         // Title
         String titleText = root.getString("title", "Default Title");
         Component title = parseFormattedText(titleText);
-        //plugin.getLogger().info("[DEBUG] Dialog title: " + title.toString());
+        //logger.info("[DEBUG] Dialog title: " + title.toString());
 
         // External Title
         String externalTitleText = root.getString("external_title", "Default Title");
         Component externalTitle = parseFormattedText(externalTitleText);
-        //plugin.getLogger().info("[DEBUG] Dialog externalTitle: " + externalTitle.toString());
+        //logger.info("[DEBUG] Dialog externalTitle: " + externalTitle.toString());
 
         boolean canCloseWithEscape = root.getBoolean("can_close_with_escape", true);
 
 
-        // Inputs - Fixed approach
+        // Inputs and bodies were resolved to their builders when the file (or translation) was loaded
         List<DialogInput> inputs = new ArrayList<>();
-
-        // Get inputs as raw list
-        List<?> inputsList = root.getList("inputs");
-        plugin.getLogger().info("[DEBUG] Inputs as list: " + (inputsList != null ? inputsList.size() + " items" : "null"));
-
-        if (inputsList != null && !inputsList.isEmpty()) {
-            plugin.getLogger().info("[DEBUG] Processing inputs as list...");
-            for (int i = 0; i < inputsList.size(); i++) {
-                Object inputData = inputsList.get(i);
-                plugin.getLogger().info("[DEBUG] Processing input " + i + " of type: " + inputData.getClass().getName());
-
-                if (inputData instanceof java.util.Map<?, ?> inputMap) {
-                    plugin.getLogger().info("[DEBUG] Input " + i + " map keys: " + inputMap.keySet());
-
-                    // Convert the map to a temporary configuration section for easier processing
-                    org.bukkit.configuration.MemoryConfiguration tempConfig = new org.bukkit.configuration.MemoryConfiguration();
-                    for (Map.Entry<?, ?> entry : inputMap.entrySet()) {
-                        tempConfig.set(entry.getKey().toString(), entry.getValue());
-                    }
-
-                    DialogInput built = buildInputFromMap(tempConfig);
-                    if (built != null) {
-                        inputs.add(built);
-                        plugin.getLogger().info("[DEBUG] Successfully built input " + i);
-                    } else {
-                        plugin.getLogger().warning("[DEBUG] Failed to build input " + i);
-                    }
-                } else {
-                    plugin.getLogger().warning("[DEBUG] Input " + i + " is not a map, skipping");
+        List<DialogBody> dialogBodies = new ArrayList<>();
+        if (meta != null) {
+            for (ComponentRegistry.Spec<InputType> spec : localized != null ? localized.inputs() : meta.inputs()) {
+                if (!isVisible(spec.config())) continue;
+                Configuration inputConfig = withInitialOverride(spec.config(), initialOverrides);
+                // Included fragments without a saved value are built once and shared between dialogs
+                DialogInput built = inputConfig == spec.config() && spec.slot().isBuiltin()
+                        ? fragments.shared(inputConfig, () -> inputBuilder.buildInput(spec, inputConfig, readInputLabel(inputConfig)))
+                        : inputBuilder.buildInput(spec, inputConfig, readInputLabel(inputConfig));
+                if (built != null) {
+                    inputs.add(built);
                 }
             }
-        } else {
-            plugin.getLogger().warning("[DEBUG] No inputs found in dialog config!");
-        }
-
-        plugin.getLogger().info("[DEBUG] Total inputs built: " + inputs.size());
-
-        // In buildDialog() method, replace the entire body processing section with this simplified version:
-
-        // Dialog Bodies (using bodies: configuration only)
-        List<DialogBody> dialogBodies = new ArrayList<>();
-
-        List<?> bodiesList = root.getList("bodies");
-        if (bodiesList != null && !bodiesList.isEmpty()) {
-            plugin.getLogger().info("[DEBUG] Processing " + bodiesList.size() + " dialog bodies...");
-
-            for (int i = 0; i < bodiesList.size(); i++) {
-                Object bodyData = bodiesList.get(i);
-                plugin.getLogger().info("[DEBUG] Processing body " + i + " of type: " + bodyData.getClass().getName());
-
-                DialogBody body = processBodyData(bodyData);
+            for (ComponentRegistry.Spec<BodyType> spec : localized != null ? localized.bodies() : meta.bodies()) {
+                if (!isVisible(spec.config())) continue;
+                // Provider bodies change over time; other built-in bodies from fragments are shared
+                DialogBody body = spec.slot().isBuiltin() && !"provider".equals(spec.slot().name())
+                        ? fragments.shared(spec.config(), () -> bodyBuilder.build(spec))
+                        : bodyBuilder.build(spec);
                 if (body != null) {
                     dialogBodies.add(body);
-                    plugin.getLogger().info("[DEBUG] Successfully built dialog body " + i);
-                } else {
-                    plugin.getLogger().warning("[DEBUG] Failed to build dialog body " + i);
                 }
             }
-        } else {
-            plugin.getLogger().info("[DEBUG] No bodies configuration found");
         }
+        logger.info("[DEBUG] Total inputs built: " + inputs.size());
 
-        plugin.getLogger().info("[DEBUG] Total dialog bodies built: " + dialogBodies.size());
+        logger.info("[DEBUG] Total dialog bodies built: " + dialogBodies.size());
 
         // Update the DialogBase creation
         DialogBase base;
@@ -315,31 +1336,72 @@ public class DialogConfigManager {
                     .body(dialogBodies)
                     .inputs(inputs)
                     .build();
-            plugin.getLogger().info("[DEBUG] DialogBase created with " + dialogBodies.size() + " bodies and " + inputs.size() + " inputs");
+            logger.info("[DEBUG] DialogBase created with " + dialogBodies.size() + " bodies and " + inputs.size() + " inputs");
         } else {
             base = DialogBase.builder(title)
                     .externalTitle(externalTitle)
                     .canCloseWithEscape(canCloseWithEscape)
                     .inputs(inputs)
                     .build();
-            plugin.getLogger().info("[DEBUG] DialogBase created with " + inputs.size() + " inputs (no bodies)");
+            logger.info("[DEBUG] DialogBase created with " + inputs.size() + " inputs (no bodies)");
         }
 
-        String type = root.getString("type", "notice").toLowerCase(Locale.ROOT);
+        // The type name was folded once when the file was loaded
+        String type = meta != null ? meta.type() : root.getString("type", "notice").toLowerCase(Locale.ROOT);
         TypeInterface handler = TypeRegistrar.getHandler(type);
 
-        DialogType dialogType;
+        DialogType dialogType = null;
         if (handler != null) {
-            dialogType = handler.buildDialogType(root);
+            try {
+                dialogType = handler.buildDialogType(root);
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Dialog type " + type + " failed to build dialog " + id + " (using confirmation)", e);
+            }
         } else {
-            plugin.getLogger().warning("Unsupported dialog type: " + type + " (using confirmation)");
+            logger.warning("Unsupported dialog type: " + type + " (using confirmation)");
+        }
+        if (dialogType == null) {
             dialogType = TypeRegistrar.getHandler("confirmation").buildDialogType(root);
         }
 
-        Dialog dialog = Dialog.create(b -> b.empty().base(base).type(dialogType));
-        plugin.getLogger().info("[DEBUG] Final dialog created successfully");
+        logger.info("[DEBUG] Final dialog created successfully");
 
-        return dialog;
+        return new DialogParts(base, dialogType);
+    }
+
+    /**
+     * The dialog merged with the overlay of the locale being built for, compiled on first use.
+     */
+    private static LocaleOverlays.Variant localizedVariant(String id, FileConfiguration base) {
+        String locale = buildingLocale.get();
+        if (locale == null) {
+            return null;
+        }
+        return localeOverlays.variant(id, locale, base,
+                merged -> new LocaleOverlays.Variant(merged, compileBodies(merged), compileInputs(merged)));
+    }
+
+    /**
+     * Returns the input entry with its 'initial' value replaced by the override for its id, as a copy
+     * so the entry loaded from the file stays untouched. Without an override the entry is returned as is.
+     */
+    private static Configuration withInitialOverride(Configuration inputConfig, Map<String, String> overrides) {
+        if (overrides == null || overrides.isEmpty()) return inputConfig;
+        String value = overrides.get(inputConfig.getString("id", ""));
+        if (value == null) return inputConfig;
+
+        Configuration copy = toConfiguration(inputConfig.getValues(false));
+        try {
+            switch (inputConfig.getString("type", "text").toLowerCase(Locale.ROOT)) {
+                case "number_range" -> copy.set("initial", Float.parseFloat(value));
+                case "boolean" -> copy.set("initial", Boolean.parseBoolean(value));
+                default -> copy.set("initial", value);
+            }
+        } catch (NumberFormatException e) {
+            logger.fine("Ignoring non-numeric saved value for input " + inputConfig.getString("id"));
+            return inputConfig;
+        }
+        return copy;
     }
 
     /**
@@ -415,16 +1477,28 @@ public class DialogConfigManager {
     }
 
     /**
-     * Reloads all dialog configurations from the dialogs folder.
-     * Useful for runtime configuration updates.
+     * Reloads the dialog configurations from the dialogs folder.
+     * Useful for runtime configuration updates. Only changed files and the dialogs that extend
+     * them are compiled again.
+     *
+     * @return number of dialogs that were compiled again
      */
-    public static void reloadDialogConfigs() {
+    public static int reloadDialogConfigs() {
         if (plugin == null) {
             throw new IllegalStateException("DialogConfigManager is not initialized. Call DialogConfigManager.init(plugin) first.");
         }
 
-        loadAllDialogConfigs();
-        plugin.getLogger().info("Reloaded all dialog configurations");
+        int compiled = reloadFiles(false);
+        logger.info("Reloaded dialog configurations");
+        return compiled;
+    }
+
+    /**
+     * Returns a dialog's configuration with everything it inherits through "extends" merged in,
+     * or null if there is no such dialog file.
+     */
+    public static FileConfiguration getResolvedConfig(String id) {
+        return dialogConfigs.get(id);
     }
 
     /**
@@ -433,61 +1507,54 @@ public class DialogConfigManager {
      * @return true if the dialog exists, false otherwise
      */
     public static boolean hasDialog(String dialogId) {
-        return availableDialogIds.contains(dialogId);
+        return getMeta(dialogId) != null;
     }
 
-    private static DialogBody processBodyData(Object bodyData) {
-        if (bodyData instanceof java.util.Map<?, ?> bodyMap) {
-            org.bukkit.configuration.MemoryConfiguration tempConfig = new org.bukkit.configuration.MemoryConfiguration();
-            for (Map.Entry<?, ?> entry : bodyMap.entrySet()) {
-                tempConfig.set(entry.getKey().toString(), entry.getValue());
-            }
-            return bodyBuilder.buildBody(tempConfig);
-        } else if (bodyData instanceof ConfigurationSection bodySection) {
-            if (bodySection instanceof org.bukkit.configuration.Configuration config) {
-                return bodyBuilder.buildBody(config);
-            } else {
-                org.bukkit.configuration.MemoryConfiguration tempConfig = new org.bukkit.configuration.MemoryConfiguration();
-                for (String key : bodySection.getKeys(true)) {
-                    tempConfig.set(key, bodySection.get(key));
-                }
-                return bodyBuilder.buildBody(tempConfig);
-            }
-        }
-        return null;
+    // What a shared fragment button is built with besides its fragment
+    private record ButtonDefaults(String text, String description, String color, int width) {
     }
 
     public static ActionButton buildButton(ConfigurationSection sec, String defText, String defDesc, String defColor, int defWidth) {
+        if (FragmentLibrary.includeName(sec) != null) {
+            Configuration fragment = fragments.expand("button", sec, ConfigMaps::toConfiguration, logger);
+            if (fragment != null && buttonBuilder.isContextFree(fragment)) {
+                // The defaults differ between call sites (cancel, exit and list buttons), so they are part of the key
+                return fragments.shared(fragment, new ButtonDefaults(defText, defDesc, defColor, defWidth),
+                        () -> buttonBuilder.buildButton(fragment, defText, defDesc, defColor, defWidth));
+            }
+            return buttonBuilder.buildButton(fragment, defText, defDesc, defColor, defWidth);
+        }
         return buttonBuilder.buildButton(sec, defText, defDesc, defColor, defWidth);
     }
 
-    private static DialogInput buildInputFromMap(org.bukkit.configuration.Configuration config) {
-        plugin.getLogger().info("[DEBUG] Building input from map-based config");
+    /**
+     * Returns a body, input or button entry with the fragment it includes merged in, for code that
+     * reads entries without building them (e.g. validation). Other entries are returned as they are.
+     */
+    public static Map<String, Object> expandInclude(Map<?, ?> entry) {
+        return fragments.definition(entry);
+    }
 
-        // Parse label
-        Component label;
+    public static DialogAction openDialogAction(String dialogId) {
+        return buttonBuilder.openDialogAction(dialogId);
+    }
+
+    public static DialogAction pageAction(String dialogId, int page) {
+        return buttonBuilder.pageAction(dialogId, page);
+    }
+
+    private static Component readInputLabel(Configuration config) {
         Object labelObj = config.get("label");
         if (labelObj instanceof java.util.Map<?, ?> labelMap) {
             // Complex label object (with text/color properties)
-            org.bukkit.configuration.MemoryConfiguration labelConfig = new org.bukkit.configuration.MemoryConfiguration();
-            for (Map.Entry<?, ?> entry : labelMap.entrySet()) {
-                labelConfig.set(entry.getKey().toString(), entry.getValue());
-            }
-            label = readComponent(labelConfig, Component.text(config.getString("id", "")));
+            return readComponent(toConfiguration(labelMap), Component.text(config.getString("id", "")));
+        } else if (labelObj instanceof ConfigurationSection labelSection) {
+            return readComponent(labelSection, Component.text(config.getString("id", "")));
         } else if (labelObj instanceof String labelString) {
             // Simple string label - parse with MiniMessage or legacy formatting
-            label = parseFormattedText(labelString);
-        } else {
-            // Fallback to ID if no label found
-            label = Component.text(config.getString("id", ""));
+            return parseFormattedText(labelString);
         }
-
-        plugin.getLogger().info("[DEBUG] Input label: " + label.toString());
-
-        // Use the new builder to create the input
-        DialogInput result = inputBuilder.buildInput(config, label);
-
-        plugin.getLogger().info("[DEBUG] Built input result: " + (result != null ? "SUCCESS" : "FAILED"));
-        return result;
+        // Fallback to ID if no label found
+        return Component.text(config.getString("id", ""));
     }
-}
\ No newline at end of file
+}
@@ -61,7 +61,9 @@ public class DialogConfigValidator {
             String dialogId = toRelativeId(dialogsFolder, yamlFile);
             try {
                 FileConfiguration config = YamlConfiguration.loadConfiguration(yamlFile);
-                issues.addAll(validateDialog(dialogId, config));
+                // Validate what the dialog compiles to, including inherited keys
+                FileConfiguration resolved = config.contains("extends") ? DialogConfigManager.getResolvedConfig(dialogId) : null;
+                issues.addAll(validateDialog(dialogId, resolved != null ? resolved : config));
             } catch (Exception e) {
                 issues.add(new ValidationIssue(
                         ValidationIssue.Severity.ERROR,
@@ -124,7 +126,7 @@ public class DialogConfigValidator {
             for (int i = 0; i < inputsList.size(); i++) {
                 Object inputData = inputsList.get(i);
                 if (inputData instanceof Map<?, ?> inputMap) {
-                    issues.addAll(validateInput(dialogId, inputMap, i));
+                    issues.addAll(validateInput(dialogId, DialogConfigManager.expandInclude(inputMap), i));
                 }
             }
         }
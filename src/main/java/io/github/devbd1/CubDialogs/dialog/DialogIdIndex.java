@@ -0,0 +1,80 @@
+package io.github.devbd1.CubDialogs.dialog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, case-insensitively sorted index of dialog ids for prefix completion.
+ * Rebuilt only when the dialogs are reloaded; lookups binary-search the first match and
+ * walk forward until the prefix no longer matches or the limit is reached.
+ */
+public final class DialogIdIndex {
+
+    /**
+     * Result cap for command tab completion; the client cannot show much more anyway.
+     */
+    public static final int COMPLETION_LIMIT = 100;
+
+    static final DialogIdIndex EMPTY = new DialogIdIndex(List.of());
+
+    private final String[] folded;
+    private final String[] ids;
+
+    DialogIdIndex(Collection<String> dialogIds) {
+        String[] sorted = dialogIds.toArray(new String[0]);
+        Arrays.sort(sorted, (a, b) -> {
+            int c = a.toLowerCase(Locale.ROOT).compareTo(b.toLowerCase(Locale.ROOT));
+            return c != 0 ? c : a.compareTo(b);
+        });
+        this.ids = sorted;
+        this.folded = new String[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            folded[i] = sorted[i].toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} ids starting with the prefix (ignoring case), in sorted order.
+     *
+     * @param prefix typed prefix, may be empty
+     * @param limit  maximum number of results
+     * @param filter optional filter, e.g. a permission check; may be null
+     */
+    public List<String> complete(String prefix, int limit, Predicate<String> filter) {
+        if (ids.length == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        String p = prefix == null ? "" : prefix.toLowerCase(Locale.ROOT);
+        List<String> result = new ArrayList<>(Math.min(limit, 16));
+        for (int i = lowerBound(p); i < folded.length && folded[i].startsWith(p); i++) {
+            if (filter != null && !filter.test(ids[i])) continue;
+            result.add(ids[i]);
+            if (result.size() >= limit) break;
+        }
+        return result;
+    }
+
+    /**
+     * @return number of indexed ids
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = folded.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (folded[mid].compareTo(key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.devbd1.CubDialogs.dialog;
+
+import io.github.devbd1.CubDialogs.utilities.ConfigMaps;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * "extends" between dialog files, and the reverse graph of who extends whom.
+ *
+ * <pre>
+ * extends: "templates/confirmation"       # or a list; later parents win over earlier ones
+ * title: "Delete your home?"
+ * </pre>
+ *
+ * A dialog is its parents deep-merged with its own file: maps merge key by key, lists and plain
+ * values of the child replace the parent's. Keys that register, open or guard the parent itself
+ * (static, quick_action, pause_screen, trigger and the open permissions) are not inherited. The
+ * reverse graph tells a reload which dialogs have to be resolved again when a file changes.
+ */
+final class DialogInheritance {
+    static final String KEY = "extends";
+    static final DialogInheritance EMPTY = new DialogInheritance(Map.of());
+
+    private static final Set<String> NOT_INHERITED = Set.of(
+            "static", "quick_action", "pause_screen", "trigger", "permission_to_open", "permission_to_open_remote"
+    );
+
+    // Parent id -> ids that extend it directly
+    private final Map<String, Set<String>> children;
+
+    private DialogInheritance(Map<String, Set<String>> children) {
+        this.children = children;
+    }
+
+    /**
+     * Builds the reverse graph from the dialog files as written.
+     */
+    static DialogInheritance build(Map<String, FileConfiguration> files) {
+        Map<String, Set<String>> children = new HashMap<>();
+        for (Map.Entry<String, FileConfiguration> entry : files.entrySet()) {
+            for (String parent : parents(entry.getValue())) {
+                children.computeIfAbsent(parent, id -> new HashSet<>()).add(entry.getKey());
+            }
+        }
+        children.replaceAll((id, set) -> Set.copyOf(set));
+        return new DialogInheritance(Map.copyOf(children));
+    }
+
+    /**
+     * Dialogs that extend any of the given ids, directly or through other dialogs.
+     */
+    Set<String> dependentsOf(Collection<String> ids) {
+        Set<String> found = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>(ids);
+        while (!queue.isEmpty()) {
+            for (String child : children.getOrDefault(queue.poll(), Set.of())) {
+                if (found.add(child)) queue.add(child);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the dialog with everything it inherits merged in. Files without "extends" are
+     * returned as they are. Missing parents and cycles are logged and skipped.
+     */
+    static FileConfiguration resolve(String id, Map<String, FileConfiguration> files, Logger logger) {
+        FileConfiguration own = files.get(id);
+        if (own == null || parents(own).isEmpty()) {
+            return own;
+        }
+        return ConfigMaps.toConfiguration(resolveMap(id, files, new LinkedHashSet<>(), logger));
+    }
+
+    private static Map<String, Object> resolveMap(String id, Map<String, FileConfiguration> files,
+                                                  LinkedHashSet<String> path, Logger logger) {
+        if (!path.add(id)) {
+            logger.warning("Dialog " + id + " extends itself: " + String.join(" -> ", path) + " -> " + id);
+            return new LinkedHashMap<>();
+        }
+        FileConfiguration own = files.get(id);
+        Map<String, Object> resolved = new LinkedHashMap<>();
+        for (String parent : parents(own)) {
+            if (!files.containsKey(parent)) {
+                logger.warning("Dialog " + id + " extends unknown dialog " + parent);
+                continue;
+            }
+            Map<String, Object> inherited = resolveMap(parent, files, path, logger);
+            inherited.keySet().removeAll(NOT_INHERITED);
+            resolved = merge(resolved, inherited);
+        }
+        resolved = merge(resolved, ConfigMaps.toMap(own));
+        resolved.remove(KEY);
+        path.remove(id);
+        return resolved;
+    }
+
+    private static List<String> parents(ConfigurationSection config) {
+        if (config.isList(KEY)) {
+            return config.getStringList(KEY).stream().map(String::trim).filter(s -> !s.isEmpty()).toList();
+        }
+        String parent = config.getString(KEY, "").trim();
+        return parent.isEmpty() ? List.of() : List.of(parent);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> merge(Map<String, Object> base, Map<String, Object> own) {
+        Map<String, Object> merged = new LinkedHashMap<>(base);
+        for (Map.Entry<String, Object> entry : own.entrySet()) {
+            Object inherited = merged.get(entry.getKey());
+            if (inherited instanceof Map<?, ?> inheritedMap && entry.getValue() instanceof Map<?, ?> ownMap) {
+                merged.put(entry.getKey(), merge((Map<String, Object>) inheritedMap, (Map<String, Object>) ownMap));
+            } else {
+                merged.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return merged;
+    }
+}
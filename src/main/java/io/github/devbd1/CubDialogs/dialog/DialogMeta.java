@@ -0,0 +1,74 @@
+package io.github.devbd1.CubDialogs.dialog;
+
+import io.github.devbd1.CubDialogs.API.BodyType;
+import io.github.devbd1.CubDialogs.API.InputType;
+import io.github.devbd1.CubDialogs.dialog.components.ComponentRegistry;
+import io.github.devbd1.CubDialogs.dialog.condition.VisibilityRules;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable facts about a dialog, computed once when its file is loaded.
+ * Open-path checks (enabled, permissions, triggers, drafts) read these fields instead of
+ * walking the YAML configuration. Permission nodes are lower-cased and interned.
+ *
+ * @param id                     dialog id (path relative to the dialogs folder, without .yml)
+ * @param type                   dialog type as written in the file, lower-cased
+ * @param enabled                "enabled", defaults to true
+ * @param externalTitle          "external_title" (or "title") as written, used when other dialogs link here
+ * @param staticDialog           "static", compiled into the server's dialog registry at startup
+ * @param quickAction            "quick_action", listed under the client's quick actions key (static only)
+ * @param pauseScreen            "pause_screen", added to the client's pause menu (static only)
+ * @param permissionToOpen       "permission_to_open"
+ * @param permissionToOpenRemote "permission_to_open_remote"
+ * @param draftsEnabled          true if the dialog keeps form drafts
+ * @param draftClearKeys         custom action keys that discard the draft ("drafts.clear_on")
+ * @param joinTrigger            join trigger, or null if the dialog does not open on join
+ * @param inputFields            declared inputs in file order
+ * @param perPlayerBodies        true if a body is cached per viewer ("scope: player" provider), so builds cannot be shared
+ * @param providerBodies         true if any body is a provider, whose text changes over time, so builds must not be cached
+ * @param serverActions          true if a button has a server-side side effect; its callbacks are single-use, so every open gets its own build
+ * @param bodies                 "bodies" entries resolved to their body type
+ * @param inputs                 "inputs" entries resolved to their input type
+ * @param visibility             compiled "visible_if" conditions, or null if the file has none
+ * @param locales                locale keys with a text overlay ("locales:" section or lang folder)
+ */
+public record DialogMeta(
+        String id,
+        String type,
+        boolean enabled,
+        String externalTitle,
+        boolean staticDialog,
+        boolean quickAction,
+        boolean pauseScreen,
+        String permissionToOpen,
+        String permissionToOpenRemote,
+        boolean draftsEnabled,
+        Set<String> draftClearKeys,
+        DialogConfigManager.JoinTrigger joinTrigger,
+        List<DialogConfigManager.InputField> inputFields,
+        boolean perPlayerBodies,
+        boolean providerBodies,
+        boolean serverActions,
+        List<ComponentRegistry.Spec<BodyType>> bodies,
+        List<ComponentRegistry.Spec<InputType>> inputs,
+        VisibilityRules visibility,
+        Set<String> locales
+) {
+    public DialogMeta {
+        draftClearKeys = Set.copyOf(draftClearKeys);
+        inputFields = List.copyOf(inputFields);
+        bodies = List.copyOf(bodies);
+        inputs = List.copyOf(inputs);
+        locales = Set.copyOf(locales);
+    }
+
+    /**
+     * True if builds differ between viewers (per-player bodies, viewer-dependent "visible_if" or
+     * translations) or hold single-use callbacks, so one build cannot be shown to everyone.
+     */
+    public boolean builtPerViewer() {
+        return perPlayerBodies || serverActions || (visibility != null && visibility.perPlayer()) || !locales.isEmpty();
+    }
+}
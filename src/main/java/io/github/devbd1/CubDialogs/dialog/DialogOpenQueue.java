@@ -0,0 +1,146 @@
+package io.github.devbd1.CubDialogs.dialog;
+
+import io.github.devbd1.CubDialogs.API.DialogOpener;
+import io.github.devbd1.CubDialogs.utilities.TargetSelector;
+import io.papermc.paper.dialog.Dialog;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Delivers bulk dialog opens a slice per tick.
+ *
+ * Each open request builds its dialog once, lazily on first delivery, and shares it between all
+ * targeted players (a reload in between triggers a rebuild). Pending opens are keyed by player,
+ * so queueing the same player again replaces the earlier open instead of showing two dialogs.
+ * All state is confined to the server thread.
+ */
+public final class DialogOpenQueue implements DialogOpener {
+
+    private final Plugin plugin;
+    private final long budgetNanos;
+    private final LinkedHashMap<UUID, PendingOpen> pending = new LinkedHashMap<>();
+    private BukkitTask task;
+
+    public DialogOpenQueue(Plugin plugin, long budgetNanos) {
+        this.plugin = plugin;
+        this.budgetNanos = Math.max(100_000L, budgetNanos);
+    }
+
+    @Override
+    public int open(String dialogId, Collection<? extends Player> players, Map<String, Object> attachments) {
+        if (!DialogConfigManager.hasDialog(dialogId)) {
+            throw new IllegalArgumentException("Unknown dialog: " + dialogId);
+        }
+        if (players == null || players.isEmpty()) {
+            return 0;
+        }
+
+        List<UUID> targets = new ArrayList<>(players.size());
+        for (Player player : players) {
+            targets.add(player.getUniqueId());
+        }
+
+        SharedBuild build = new SharedBuild(dialogId, attachments == null ? null : Map.copyOf(attachments));
+        if (Bukkit.isPrimaryThread()) {
+            enqueue(targets, build);
+        } else if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, () -> enqueue(targets, build));
+        }
+        return targets.size();
+    }
+
+    @Override
+    public int open(String dialogId, String selector) {
+        return open(dialogId, TargetSelector.resolve(selector), null);
+    }
+
+    @Override
+    public int pending() {
+        return pending.size();
+    }
+
+    /**
+     * Drops all pending opens and stops the drain task.
+     */
+    public void clear() {
+        pending.clear();
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void enqueue(List<UUID> targets, SharedBuild build) {
+        for (UUID playerId : targets) {
+            // Re-putting an existing key keeps its place in line but replaces the dialog
+            pending.put(playerId, new PendingOpen(playerId, build));
+        }
+        if (task == null && !pending.isEmpty() && plugin.isEnabled()) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+        }
+    }
+
+    private void drain() {
+        long deadline = System.nanoTime() + budgetNanos;
+        Iterator<PendingOpen> it = pending.values().iterator();
+
+        // Always deliver at least one open so a single slow build cannot stall the queue
+        do {
+            if (!it.hasNext()) break;
+            PendingOpen next = it.next();
+            it.remove();
+            deliver(next);
+        } while (System.nanoTime() < deadline);
+
+        if (pending.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void deliver(PendingOpen open) {
+        Player player = Bukkit.getPlayer(open.playerId());
+        if (player == null || !player.isOnline()) {
+            return;
+        }
+
+        SharedBuild build = open.build();
+        if (!DialogConfigManager.isEnabled(build.dialogId)) {
+            return;
+        }
+        new DialogBuilder().show(player, build.dialogId, build::get, build.attachments);
+    }
+
+    private record PendingOpen(UUID playerId, SharedBuild build) {}
+
+    private static final class SharedBuild {
+        private final String dialogId;
+        private final Map<String, Object> attachments;
+        private Dialog dialog;
+        private long generation = -1;
+
+        SharedBuild(String dialogId, Map<String, Object> attachments) {
+            this.dialogId = dialogId;
+            this.attachments = attachments;
+        }
+
+        Dialog get() {
+            long current = DialogConfigManager.getGeneration();
+            if (dialog == null || generation != current) {
+                dialog = DialogConfigManager.buildDialog(dialogId);
+                generation = current;
+            }
+            return dialog;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.devbd1.CubDialogs.dialog;
+
+import io.github.devbd1.CubDialogs.API.DialogSession;
+import io.github.devbd1.CubDialogs.utilities.UuidMap;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Records the dialog each player currently has open.
+ * Sessions live in a compact UUID-keyed map and are dropped when the player quits
+ * or replaced when another dialog is opened.
+ */
+public class DialogSessionRegistry implements Listener {
+    private final UuidMap<SimpleDialogSession> sessions = new UuidMap<>(64);
+
+    /**
+     * Records that the given dialog was just shown to a player.
+     *
+     * @param playerId    the viewer
+     * @param dialogId    the dialog id
+     * @param attachments optional open parameters to attach (may be null)
+     * @return the new session
+     */
+    public DialogSession open(UUID playerId, String dialogId, Map<String, Object> attachments) {
+        SimpleDialogSession session = new SimpleDialogSession(
+                dialogId,
+                DialogConfigManager.getGeneration(),
+                System.currentTimeMillis(),
+                attachments
+        );
+        synchronized (sessions) {
+            sessions.put(playerId, session);
+        }
+        return session;
+    }
+
+    /**
+     * @return the player's current session, or null if none is recorded
+     */
+    public DialogSession get(UUID playerId) {
+        synchronized (sessions) {
+            return sessions.get(playerId);
+        }
+    }
+
+    /**
+     * Ends the player's session.
+     *
+     * @return the removed session, or null if none was recorded
+     */
+    public DialogSession close(UUID playerId) {
+        synchronized (sessions) {
+            return sessions.remove(playerId);
+        }
+    }
+
+    public int size() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (sessions) {
+            sessions.clear();
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        close(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,260 @@
+package io.github.devbd1.CubDialogs.dialog;
+
+import io.github.devbd1.CubDialogs.utilities.ConfigMaps;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Named bodies, inputs and buttons shared between dialog files.
+ *
+ * Every .yml file in the fragments folder defines fragments by top-level key. A dialog uses one
+ * with "include" wherever it would write the entry itself; other keys next to "include" are
+ * merged over the fragment:
+ *
+ * <pre>
+ * # fragments/common.yml                 # dialogs/shop.yml
+ * footer:                                bodies:
+ *   type: "plain_message"                  - include: "footer"
+ *   message: "&lt;gray&gt;play.cublex.net"     exit_button:
+ * cancel_button:                           include: "cancel_button"
+ *   text: "&lt;red&gt;Cancel"
+ * </pre>
+ *
+ * An entry that only includes a fragment (optionally with "visible_if") uses the fragment's
+ * configuration instance, and what is built from it is built once and shared by every dialog, as
+ * long as it does not depend on the dialog or viewer (see the callers).
+ */
+final class FragmentLibrary {
+    static final String KEY = "include";
+    static final FragmentLibrary EMPTY = new FragmentLibrary(Map.of());
+
+    // Keys that do not change what a fragment builds to
+    private static final Set<String> NON_OVERRIDES = Set.of(KEY, "visible_if");
+
+    private final Map<String, Map<String, Object>> definitions;
+    // Configurations handed out for bare includes, per kind and fragment
+    private final Map<SharedKey, Configuration> configs = new ConcurrentHashMap<>();
+    // Configurations never compare by content, so this is an identity map that lets go of unused entries
+    private final Map<Configuration, SharedKey> sharedKeys = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Map<BuiltKey, Object> built = new ConcurrentHashMap<>();
+
+    private record SharedKey(String kind, String name) {
+    }
+
+    // A shared fragment together with whatever else its build depends on (e.g. a button's defaults)
+    private record BuiltKey(SharedKey fragment, Object context) {
+    }
+
+    private FragmentLibrary(Map<String, Map<String, Object>> definitions) {
+        this.definitions = definitions;
+    }
+
+    /**
+     * Reads every fragment file. A name defined twice keeps its first definition.
+     */
+    static FragmentLibrary load(File folder, Logger logger) {
+        Map<String, Map<String, Object>> definitions = new HashMap<>();
+        if (folder.isDirectory()) {
+            for (File file : DialogConfigManager.collectYamlFilesRecursive(folder)) {
+                YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+                for (String name : config.getKeys(false)) {
+                    ConfigurationSection section = config.getConfigurationSection(name);
+                    if (section == null) {
+                        logger.warning("Fragment " + name + " in " + file.getName() + " is not a section, skipping");
+                    } else if (definitions.putIfAbsent(name, Collections.unmodifiableMap(ConfigMaps.toMap(section))) != null) {
+                        logger.warning("Fragment " + name + " is defined more than once; keeping the first definition");
+                    }
+                }
+            }
+        }
+        return definitions.isEmpty() ? EMPTY : new FragmentLibrary(Map.copyOf(definitions));
+    }
+
+    /**
+     * Returns this library if no definition differs from the newly read one, so shared instances survive a reload.
+     */
+    FragmentLibrary keepIfUnchanged(FragmentLibrary reloaded) {
+        return definitions.equals(reloaded.definitions) ? this : reloaded;
+    }
+
+    /**
+     * Fragment names whose definition differs between the two libraries, including added and removed ones.
+     */
+    Set<String> changedNames(FragmentLibrary other) {
+        Set<String> changed = new HashSet<>();
+        Set<String> names = new HashSet<>(definitions.keySet());
+        names.addAll(other.definitions.keySet());
+        for (String name : names) {
+            if (!Objects.equals(definitions.get(name), other.definitions.get(name))) changed.add(name);
+        }
+        return changed;
+    }
+
+    /**
+     * Fragment names included anywhere in a dialog file.
+     */
+    static Set<String> includes(Object node) {
+        Set<String> names = new HashSet<>();
+        collectIncludes(node, names);
+        return names;
+    }
+
+    private static void collectIncludes(Object node, Set<String> names) {
+        if (node instanceof ConfigurationSection section) {
+            node = section.getValues(false);
+        }
+        if (node instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (KEY.equals(String.valueOf(entry.getKey())) && entry.getValue() instanceof String name) {
+                    names.add(name);
+                } else {
+                    collectIncludes(entry.getValue(), names);
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object entry : list) collectIncludes(entry, names);
+        }
+    }
+
+    /**
+     * Name in the entry's "include", or null if the entry does not include a fragment.
+     */
+    static String includeName(Object entry) {
+        Object name = null;
+        if (entry instanceof ConfigurationSection section) {
+            name = section.get(KEY);
+        } else if (entry instanceof Map<?, ?> map) {
+            name = map.get(KEY);
+        }
+        return name instanceof String text && !text.isBlank() ? text : null;
+    }
+
+    /**
+     * The entry as plain map with its fragment merged in; entries without "include" (or with an
+     * unknown one) are returned as they are.
+     */
+    Map<String, Object> definition(Object entry) {
+        Map<String, Object> own = entry instanceof ConfigurationSection section
+                ? ConfigMaps.toMap(section)
+                : entry instanceof Map<?, ?> map ? castMap(ConfigMaps.plain(map)) : Map.of();
+        String name = includeName(entry);
+        Map<String, Object> fragment = name != null ? definitions.get(name) : null;
+        if (fragment == null) {
+            return own;
+        }
+        Map<String, Object> merged = new LinkedHashMap<>(castMap(ConfigMaps.plain(fragment)));
+        own.forEach((key, value) -> {
+            if (!KEY.equals(key)) merged.put(key, value);
+        });
+        return merged;
+    }
+
+    /**
+     * A copy of a dialog file with every included fragment merged in, as plain maps and lists, for
+     * code that walks the whole file (e.g. collecting "visible_if").
+     */
+    Map<String, Object> expandAll(ConfigurationSection root) {
+        return castMap(expandNode(ConfigMaps.toMap(root)));
+    }
+
+    private Object expandNode(Object node) {
+        if (node instanceof Map<?, ?> map) {
+            Map<String, Object> expanded = new LinkedHashMap<>();
+            Map<?, ?> source = includeName(map) != null ? definition(map) : map;
+            for (Map.Entry<?, ?> entry : source.entrySet()) {
+                expanded.put(String.valueOf(entry.getKey()), expandNode(entry.getValue()));
+            }
+            return expanded;
+        }
+        if (node instanceof List<?> list) {
+            return list.stream().map(this::expandNode).toList();
+        }
+        return node;
+    }
+
+    /**
+     * Resolves an entry that includes a fragment to the configuration to build it from.
+     *
+     * @param kind      what the entry is built into ("body", "input", "button"); each kind converts
+     *                  the fragment its own way
+     * @param converter turns the merged entry into a configuration
+     * @return the configuration, or null if the fragment does not exist
+     */
+    Configuration expand(String kind, Object entry, Function<Map<String, Object>, Configuration> converter, Logger logger) {
+        String name = includeName(entry);
+        if (name == null || !definitions.containsKey(name)) {
+            logger.warning("Unknown fragment: " + name);
+            return null;
+        }
+        Map<String, Object> own = entry instanceof ConfigurationSection section
+                ? ConfigMaps.toMap(section)
+                : castMap(ConfigMaps.plain(entry));
+        SharedKey key = new SharedKey(kind, name);
+        if (NON_OVERRIDES.containsAll(own.keySet()) && !own.containsKey("visible_if")) {
+            return configs.computeIfAbsent(key, k -> {
+                Configuration config = converter.apply(castMap(ConfigMaps.plain(definitions.get(name))));
+                sharedKeys.put(config, k);
+                return config;
+            });
+        }
+        Configuration config = converter.apply(definition(entry));
+        if (NON_OVERRIDES.containsAll(own.keySet())) {
+            // Only a visibility condition was added; what it builds to is still the fragment's
+            sharedKeys.put(config, key);
+        }
+        return config;
+    }
+
+    /**
+     * Returns the shared instance built from a fragment configuration handed out by {@link #expand},
+     * building it on first use. Other configurations are built every time.
+     */
+    <T> T shared(Configuration config, Supplier<T> build) {
+        return shared(config, null, build);
+    }
+
+    /**
+     * Like {@link #shared(Configuration, Supplier)}, with one shared instance per context, for builds
+     * that also depend on something the caller passes in.
+     *
+     * @param context compared by equals; null if the build depends on the configuration only
+     */
+    @SuppressWarnings("unchecked")
+    <T> T shared(Configuration config, Object context, Supplier<T> build) {
+        SharedKey fragment = sharedKeys.get(config);
+        if (fragment == null) {
+            return build.get();
+        }
+        BuiltKey key = new BuiltKey(fragment, context);
+        Object instance = built.get(key);
+        if (instance == null) {
+            instance = build.get();
+            if (instance != null) {
+                Object existing = built.putIfAbsent(key, instance);
+                if (existing != null) instance = existing;
+            }
+        }
+        return (T) instance;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> castMap(Object value) {
+        return value instanceof Map<?, ?> map ? (Map<String, Object>) map : new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,151 @@
+package io.github.devbd1.CubDialogs.dialog;
+
+import io.github.devbd1.CubDialogs.API.DialogOpener;
+import io.github.devbd1.CubDialogs.storage.JoinStateStore;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Opens dialogs with a join trigger ("first_join" or "join_until_accepted").
+ *
+ * The player's seen/accepted state is loaded on the async pre-login thread, so the join handler
+ * usually only reads memory. If it was not loaded there (no trigger existed yet, or the load was
+ * dropped), the join loads it asynchronously. State loaded for a login that never joins is dropped
+ * after {@link #JOIN_TIMEOUT_TICKS}. At most one triggered dialog is opened per join; accepting it
+ * opens the next one that is still due.
+ */
+public final class JoinTriggerListener implements Listener {
+
+    // How long state loaded at pre-login is kept for a player who has not joined
+    private static final long JOIN_TIMEOUT_TICKS = 20L * 60;
+
+    private record Triggered(String dialogId, DialogConfigManager.JoinTrigger trigger) {}
+
+    private final Plugin plugin;
+    private final JoinStateStore store;
+    private final DialogOpener opener;
+    private volatile List<Triggered> triggered = List.of();
+    private volatile long triggeredGeneration = -1;
+
+    public JoinTriggerListener(Plugin plugin, JoinStateStore store, DialogOpener opener) {
+        this.plugin = plugin;
+        this.store = store;
+        this.opener = opener;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+        if (triggeredDialogs().isEmpty()) return;
+        UUID playerId = event.getUniqueId();
+        store.load(playerId);
+
+        // A later listener may still deny the login, and then no quit event follows
+        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+            if (plugin.getServer().getPlayer(playerId) == null) store.unload(playerId);
+        }, JOIN_TIMEOUT_TICKS);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        if (store.get(player.getUniqueId()) == null) {
+            if (triggeredDialogs().isEmpty()) return;
+            // Not loaded at pre-login, e.g. the trigger was added by a reload since
+            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+                store.load(player.getUniqueId());
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    if (!player.isOnline()) {
+                        store.unload(player.getUniqueId());
+                        return;
+                    }
+                    scheduleNext(player);
+                });
+            });
+            return;
+        }
+        scheduleNext(player);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        store.unload(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Marks the current version of a triggered dialog as accepted and opens the next due dialog, if any.
+     */
+    public void accept(Player player, String dialogId) {
+        DialogConfigManager.JoinTrigger trigger = DialogConfigManager.getJoinTrigger(dialogId);
+        if (trigger == null) return;
+
+        store.markAccepted(player.getUniqueId(), dialogId, trigger.version());
+        if (nextDue(player) != null) {
+            plugin.getServer().getScheduler().runTask(plugin, () -> openNext(player));
+        }
+    }
+
+    private void scheduleNext(Player player) {
+        Triggered next = nextDue(player);
+        if (next == null) return;
+
+        plugin.getServer().getScheduler().runTaskLater(plugin, () -> openNext(player), next.trigger().delayTicks());
+    }
+
+    private void openNext(Player player) {
+        if (!player.isOnline()) return;
+        Triggered next = nextDue(player);
+        if (next == null) return;
+
+        store.markSeen(player.getUniqueId(), next.dialogId(), next.trigger().version());
+        opener.open(next.dialogId(), List.of(player), Map.of("trigger", next.trigger().untilAccepted() ? "join_until_accepted" : "first_join"));
+    }
+
+    private Triggered nextDue(Player player) {
+        JoinStateStore.PlayerState state = store.get(player.getUniqueId());
+        if (state == null) return null;
+
+        for (Triggered t : triggeredDialogs()) {
+            String id = t.dialogId();
+            int version = t.trigger().version();
+            boolean due = t.trigger().untilAccepted()
+                    ? state.acceptedVersion(id) < version
+                    : state.seenVersion(id) < version;
+            if (!due || !DialogConfigManager.isEnabled(id)) continue;
+            if (!player.hasPermission(DialogConfigManager.getPermissionToOpen(id))) continue;
+            return t;
+        }
+        return null;
+    }
+
+    /**
+     * Dialogs with a join trigger, highest priority first. Rebuilt after each dialog reload.
+     */
+    private List<Triggered> triggeredDialogs() {
+        long generation = DialogConfigManager.getGeneration();
+        if (generation != triggeredGeneration) {
+            List<Triggered> list = new ArrayList<>();
+            for (String id : DialogConfigManager.getDialogIds()) {
+                DialogConfigManager.JoinTrigger trigger = DialogConfigManager.getJoinTrigger(id);
+                if (trigger != null) list.add(new Triggered(id, trigger));
+            }
+            list.sort(Comparator.comparingInt((Triggered t) -> t.trigger().priority()).reversed()
+                    .thenComparing(Triggered::dialogId));
+            triggered = List.copyOf(list);
+            triggeredGeneration = generation;
+        }
+        return triggered;
+    }
+}
@@ -0,0 +1,188 @@
+package io.github.devbd1.CubDialogs.dialog;
+
+import io.github.devbd1.CubDialogs.API.BodyType;
+import io.github.devbd1.CubDialogs.API.InputType;
+import io.github.devbd1.CubDialogs.dialog.components.ComponentRegistry;
+import io.github.devbd1.CubDialogs.utilities.ConfigMaps;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Per-locale text overlays for dialog files.
+ *
+ * An overlay is a partial dialog file that is deep-merged over the dialog: maps merge key by key,
+ * lists merge entry by entry (so "bodies" can translate the first body only), anything else is
+ * replaced. Overlays come from a "locales:" section in the dialog file and from
+ * lang/&lt;locale&gt;/&lt;dialog id&gt;.yml in the plugin folder; the lang file wins where both set a key.
+ *
+ * <pre>
+ * locales:
+ *   de_de:
+ *     title: "Serverregeln"
+ *     button:
+ *       text: "Verstanden"
+ * </pre>
+ *
+ * Merged variants are compiled the first time a player with that locale opens the dialog and kept
+ * in a small LRU, so locales nobody uses cost nothing and rarely used ones are evicted.
+ */
+final class LocaleOverlays {
+    static final LocaleOverlays EMPTY = new LocaleOverlays(Map.of(), 1);
+
+    /**
+     * A dialog file merged with one locale's overlay, with its bodies and inputs resolved.
+     */
+    record Variant(FileConfiguration config,
+                   List<ComponentRegistry.Spec<BodyType>> bodies,
+                   List<ComponentRegistry.Spec<InputType>> inputs) {
+    }
+
+    private record VariantKey(String id, String locale) {
+    }
+
+    // Dialog id -> locale key -> overlay, as plain maps
+    private final Map<String, Map<String, Map<String, Object>>> overlays;
+    private final Map<VariantKey, Variant> variants;
+
+    private LocaleOverlays(Map<String, Map<String, Map<String, Object>>> overlays, int maxVariants) {
+        this.overlays = overlays;
+        int capacity = Math.max(1, maxVariants);
+        this.variants = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<VariantKey, Variant> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    /**
+     * Reads the inline "locales" sections and the lang folder.
+     *
+     * @param langFolder  folder with one sub folder per locale, may not exist
+     * @param configs     loaded dialog files by id
+     * @param maxVariants number of merged variants kept compiled at once
+     */
+    static LocaleOverlays load(File langFolder, Map<String, FileConfiguration> configs, int maxVariants, Logger logger) {
+        Map<String, Map<String, Map<String, Object>>> overlays = new HashMap<>();
+
+        for (Map.Entry<String, FileConfiguration> entry : configs.entrySet()) {
+            ConfigurationSection inline = entry.getValue().getConfigurationSection("locales");
+            if (inline == null) continue;
+            for (String locale : inline.getKeys(false)) {
+                ConfigurationSection overlay = inline.getConfigurationSection(locale);
+                if (overlay != null) {
+                    overlays.computeIfAbsent(entry.getKey(), id -> new HashMap<>())
+                            .put(normalizeLocale(locale), ConfigMaps.toMap(overlay));
+                }
+            }
+        }
+
+        File[] localeFolders = langFolder.listFiles(File::isDirectory);
+        if (localeFolders != null) {
+            for (File localeFolder : localeFolders) {
+                String locale = normalizeLocale(localeFolder.getName());
+                for (File file : DialogConfigManager.collectYamlFilesRecursive(localeFolder)) {
+                    String id = DialogConfigManager.toRelativeId(localeFolder, file);
+                    if (!configs.containsKey(id)) {
+                        logger.warning("Translation " + locale + "/" + id + ".yml has no dialog file, ignoring");
+                        continue;
+                    }
+                    Map<String, Object> overlay = ConfigMaps.toMap(YamlConfiguration.loadConfiguration(file));
+                    overlays.computeIfAbsent(id, key -> new HashMap<>())
+                            .merge(locale, overlay, LocaleOverlays::merge);
+                }
+            }
+        }
+
+        overlays.replaceAll((id, byLocale) -> Map.copyOf(byLocale));
+        return new LocaleOverlays(Map.copyOf(overlays), maxVariants);
+    }
+
+    /**
+     * Locale keys a dialog has overlays for.
+     */
+    Set<String> locales(String id) {
+        Map<String, Map<String, Object>> byLocale = overlays.get(id);
+        return byLocale != null ? byLocale.keySet() : Set.of();
+    }
+
+    /**
+     * Picks the overlay for a client locale: an exact match ("de_at"), then the language ("de").
+     *
+     * @return locale key, or null if the dialog's own text applies
+     */
+    String resolve(String id, Locale clientLocale) {
+        Map<String, Map<String, Object>> byLocale = overlays.get(id);
+        if (byLocale == null || clientLocale == null) return null;
+        String key = normalizeLocale(clientLocale.toString());
+        if (byLocale.containsKey(key)) return key;
+        String language = clientLocale.getLanguage().toLowerCase(Locale.ROOT);
+        return byLocale.containsKey(language) ? language : null;
+    }
+
+    /**
+     * Returns the compiled variant of a dialog for a locale key, compiling it if it is not cached.
+     */
+    Variant variant(String id, String locale, FileConfiguration base, Function<FileConfiguration, Variant> compiler) {
+        VariantKey key = new VariantKey(id, locale);
+        Variant variant = variants.get(key);
+        if (variant != null) return variant;
+
+        Map<String, Map<String, Object>> byLocale = overlays.get(id);
+        Map<String, Object> overlay = byLocale != null ? byLocale.get(locale) : null;
+        if (overlay == null) return null;
+
+        Map<String, Object> merged = merge(ConfigMaps.toMap(base), overlay);
+        merged.remove("locales");
+
+        variant = compiler.apply(ConfigMaps.toConfiguration(merged));
+        variants.put(key, variant);
+        return variant;
+    }
+
+    static String normalizeLocale(String locale) {
+        return locale.trim().replace('-', '_').toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, Object> merge(Map<String, Object> base, Map<String, Object> overlay) {
+        Map<String, Object> merged = new LinkedHashMap<>(base);
+        for (Map.Entry<String, Object> entry : overlay.entrySet()) {
+            merged.merge(entry.getKey(), entry.getValue(), LocaleOverlays::mergeValue);
+        }
+        return merged;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object mergeValue(Object base, Object overlay) {
+        if (base instanceof Map<?, ?> baseMap && overlay instanceof Map<?, ?> overlayMap) {
+            return merge((Map<String, Object>) baseMap, (Map<String, Object>) overlayMap);
+        }
+        if (base instanceof List<?> baseList && overlay instanceof List<?> overlayList) {
+            List<Object> merged = new ArrayList<>(Math.max(baseList.size(), overlayList.size()));
+            for (int i = 0; i < Math.max(baseList.size(), overlayList.size()); i++) {
+                if (i >= overlayList.size()) {
+                    merged.add(baseList.get(i));
+                } else if (i >= baseList.size()) {
+                    merged.add(overlayList.get(i));
+                } else {
+                    merged.add(mergeValue(baseList.get(i), overlayList.get(i)));
+                }
+            }
+            return merged;
+        }
+        return overlay;
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.devbd1.CubDialogs.dialog;
+
+import io.github.devbd1.CubDialogs.API.PayloadView;
+import io.papermc.paper.dialog.DialogResponseView;
+
+/**
+ * Adapter for Paper's DialogResponseView to our PayloadView.
+ */
+public class PaperPayloadView implements PayloadView {
+    private final DialogResponseView view;
+
+    public PaperPayloadView(DialogResponseView view) {
+        this.view = view;
+    }
+
+    @Override
+    public String getText(String key) {
+        return view.getText(key);
+    }
+
+    @Override
+    public Integer getInt(String key) {
+        Float f = view.getFloat(key);
+        return f != null ? f.intValue() : null;
+    }
+
+    @Override
+    public Float getFloat(String key) {
+        return view.getFloat(key);
+    }
+
+    @Override
+    public Boolean getBoolean(String key) {
+        return view.getBoolean(key);
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.devbd1.CubDialogs.dialog;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces DialogActionContext replies per player.
+ * Messages are queued in lock-free per-player queues from any thread and drained once per tick
+ * by a single scheduled task, merging all pending lines for a player into one Component send.
+ */
+public class ReplyDispatcher implements Listener {
+    private final Plugin plugin;
+    private final Map<UUID, Queue<Component>> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+
+    public ReplyDispatcher(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Queues a message for the given player. It is delivered on the next server tick.
+     */
+    public void enqueue(UUID playerId, Component message) {
+        if (playerId == null || message == null) {
+            return;
+        }
+
+        pending.computeIfAbsent(playerId, id -> new ConcurrentLinkedQueue<>()).add(message);
+
+        // Only the first enqueue in a tick schedules the drain
+        if (drainScheduled.compareAndSet(false, true)) {
+            if (!plugin.isEnabled()) {
+                drainScheduled.set(false);
+                return;
+            }
+            Bukkit.getScheduler().runTask(plugin, this::drain);
+        }
+    }
+
+    /**
+     * Sends all queued messages. Runs on the server thread.
+     */
+    private void drain() {
+        // Reset first so messages queued while draining schedule the next tick
+        drainScheduled.set(false);
+
+        for (Map.Entry<UUID, Queue<Component>> entry : pending.entrySet()) {
+            Queue<Component> queue = entry.getValue();
+            if (queue.isEmpty()) {
+                continue;
+            }
+
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player == null || !player.isOnline()) {
+                // Only drop the queue seen here; a quit and rejoin may have replaced it meanwhile
+                pending.remove(entry.getKey(), queue);
+                continue;
+            }
+
+            List<Component> lines = new ArrayList<>();
+            Component line;
+            while ((line = queue.poll()) != null) {
+                lines.add(line);
+            }
+
+            player.sendMessage(lines.size() == 1
+                    ? lines.get(0)
+                    : Component.join(JoinConfiguration.newlines(), lines));
+        }
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        pending.remove(event.getPlayer().getUniqueId());
+    }
+}
@@ -8,23 +8,52 @@ import io.github.devbd1.CubDialogs.API.DialogKey;
 import io.github.devbd1.CubDialogs.API.Registration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Implementation of DialogActionRegistry that maintains a map of listeners.
+ * Every listener call is timed; a rolling p99 is kept per registration so slow addon
+ * listeners can be reported and, if they opted in, moved to an async executor.
  */
 public class SimpleDialogActionRegistry implements DialogActionRegistry {
+    private static final int DEFAULT_WINDOW = 128;
+    private static final long DEFAULT_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long DEFAULT_WARN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(60);
+
     private final Map<DialogKey, List<RegisteredListener>> listeners = new ConcurrentHashMap<>();
     private final Logger logger;
+    private final Executor asyncExecutor;
+    private final long budgetNanos;
+    private final int window;
+    private final long warnIntervalNanos;
     
     public SimpleDialogActionRegistry(Logger logger) {
+        this(logger, null, DEFAULT_BUDGET_NANOS, DEFAULT_WINDOW, DEFAULT_WARN_INTERVAL_NANOS);
+    }
+
+    /**
+     * @param logger            logger for registration and watchdog messages
+     * @param asyncExecutor     executor used for offloaded listeners; null disables offloading
+     * @param budgetNanos       p99 budget per listener call on the server thread
+     * @param window            number of recent calls the rolling p99 is computed over
+     * @param warnIntervalNanos minimum time between two budget warnings for the same listener
+     */
+    public SimpleDialogActionRegistry(Logger logger, Executor asyncExecutor, long budgetNanos,
+                                      int window, long warnIntervalNanos) {
         this.logger = logger;
+        this.asyncExecutor = asyncExecutor;
+        this.budgetNanos = budgetNanos > 0 ? budgetNanos : DEFAULT_BUDGET_NANOS;
+        this.window = Math.max(16, window);
+        this.warnIntervalNanos = Math.max(0, warnIntervalNanos);
     }
     
     @Override
@@ -106,11 +135,40 @@ public class SimpleDialogActionRegistry implements DialogActionRegistry {
                 continue;
             }
 
-            try {
-                registration.listener.onAction(context);
-            } catch (Exception e) {
-                logger.log(Level.SEVERE, "Error in dialog action listener for key " + key, e);
+            if (registration.offloaded) {
+                asyncExecutor.execute(() -> invoke(registration, context));
+                continue;
             }
+
+            long start = System.nanoTime();
+            invoke(registration, context);
+            registration.record(System.nanoTime() - start);
+        }
+    }
+
+    private void invoke(RegisteredListener registration, DialogActionContext context) {
+        try {
+            registration.listener.onAction(context);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error in dialog action listener for key " + registration.key, e);
+        }
+    }
+
+    /**
+     * Called after a listener's rolling p99 was recomputed and found above budget.
+     */
+    private void onBudgetExceeded(RegisteredListener registration, long p99Nanos) {
+        boolean offload = asyncExecutor != null && registration.listener.allowAsyncOffload();
+        long now = System.nanoTime();
+        if (offload || now - registration.lastWarnNanos >= warnIntervalNanos || registration.lastWarnNanos == 0) {
+            registration.lastWarnNanos = now;
+            logger.warning(String.format("Dialog action listener %s for key %s is slow: p99 %.2fms over the last %d calls (budget %.2fms)%s",
+                    registration.listener.getClass().getName(), registration.key,
+                    p99Nanos / 1_000_000.0, registration.count, budgetNanos / 1_000_000.0,
+                    offload ? ". Moving its future calls off the server thread." : ""));
+        }
+        if (offload) {
+            registration.offloaded = true;
         }
     }
     
@@ -121,11 +179,38 @@ public class SimpleDialogActionRegistry implements DialogActionRegistry {
         private final DialogKey key;
         private final DialogActionListener listener;
         private volatile boolean active = true;
+        private volatile boolean offloaded = false;
+
+        // Rolling window of recent call durations (nanos), guarded by "this"
+        private final long[] samples = new long[window];
+        private int next;
+        private int count;
+        private long lastWarnNanos;
         
         RegisteredListener(DialogKey key, DialogActionListener listener) {
             this.key = key;
             this.listener = listener;
         }
+
+        void record(long elapsedNanos) {
+            long p99;
+            synchronized (this) {
+                samples[next] = elapsedNanos;
+                next = (next + 1) % samples.length;
+                if (count < samples.length) count++;
+
+                // Recompute only every 16 calls; the window is small enough to sort directly
+                if ((next & 15) != 0 || count < 16) {
+                    return;
+                }
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                p99 = sorted[Math.min(count - 1, (int) Math.ceil(count * 0.99) - 1)];
+            }
+            if (p99 > budgetNanos) {
+                onBudgetExceeded(this, p99);
+            }
+        }
         
         @Override
         public void unregister() {
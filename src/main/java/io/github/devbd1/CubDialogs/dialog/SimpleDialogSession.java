@@ -0,0 +1,81 @@
+package io.github.devbd1.CubDialogs.dialog;
+
+import io.github.devbd1.CubDialogs.API.DialogSession;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Simple implementation of DialogSession.
+ */
+class SimpleDialogSession implements DialogSession {
+    private final String dialogId;
+    private final long generation;
+    private final long openedAt;
+    private volatile Map<String, Object> attachments;
+
+    SimpleDialogSession(String dialogId, long generation, long openedAt, Map<String, Object> attachments) {
+        this.dialogId = dialogId;
+        this.generation = generation;
+        this.openedAt = openedAt;
+        if (attachments != null && !attachments.isEmpty()) {
+            attachments.forEach(this::attach);
+        }
+    }
+
+    @Override
+    public String dialogId() {
+        return dialogId;
+    }
+
+    @Override
+    public long generation() {
+        return generation;
+    }
+
+    @Override
+    public long openedAt() {
+        return openedAt;
+    }
+
+    @Override
+    public Optional<Object> attachment(String key) {
+        Map<String, Object> map = attachments;
+        return map == null ? Optional.empty() : Optional.ofNullable(map.get(key));
+    }
+
+    @Override
+    public void attach(String key, Object value) {
+        Objects.requireNonNull(key, "key");
+        Map<String, Object> map = attachments;
+        if (map == null) {
+            if (value == null) return;
+            synchronized (this) {
+                // Most sessions never carry attachments, so the map is created lazily
+                if (attachments == null) {
+                    attachments = new ConcurrentHashMap<>(4);
+                }
+                map = attachments;
+            }
+        }
+        if (value == null) {
+            map.remove(key);
+        } else {
+            map.put(key, value);
+        }
+    }
+
+    @Override
+    public Map<String, Object> attachments() {
+        Map<String, Object> map = attachments;
+        return map == null ? Collections.emptyMap() : Map.copyOf(map);
+    }
+
+    @Override
+    public String toString() {
+        return "DialogSession{" + dialogId + ", generation=" + generation + ", openedAt=" + openedAt + "}";
+    }
+}
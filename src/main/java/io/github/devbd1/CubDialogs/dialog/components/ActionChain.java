@@ -0,0 +1,223 @@
+package io.github.devbd1.CubDialogs.dialog.components;
+
+import io.github.devbd1.CubDialogs.API.ActionHandler;
+import io.github.devbd1.CubDialogs.API.PayloadView;
+import io.github.devbd1.CubDialogs.Main;
+import io.github.devbd1.CubDialogs.dialog.DialogBuilder;
+import io.github.devbd1.CubDialogs.dialog.DialogConfigManager;
+import io.github.devbd1.CubDialogs.dialog.condition.Condition;
+import io.github.devbd1.CubDialogs.dialog.condition.ConditionCompiler;
+import io.github.devbd1.CubDialogs.utilities.PlaceholderBatch;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * The steps of a button's "actions:" list, compiled into one server-side callback.
+ *
+ * A click schedules a single task that resolves the placeholders of all steps in one pass and then
+ * runs the steps in order, skipping steps whose "if" does not hold. A failing step stops the chain.
+ *
+ * <pre>
+ * actions:
+ *   - type: "run_command"
+ *     command: "kit starter"
+ *   - type: "console_command"
+ *     command: "eco give &lt;player&gt; 100"
+ *     if: "permission:vip.bonus"
+ *   - type: "message"
+ *     message: "&amp;aEnjoy your kit!"
+ *   - type: "show_dialog"
+ *     id: "server_rules"
+ * </pre>
+ */
+final class ActionChain {
+    private final String dialogId;
+    private final Configuration root;
+    private final PlaceholderBatch templates;
+    private final List<Step> steps;
+
+    private ActionChain(String dialogId, Configuration root, PlaceholderBatch templates, List<Step> steps) {
+        this.dialogId = dialogId;
+        this.root = root;
+        this.templates = templates;
+        this.steps = steps;
+    }
+
+    /**
+     * Runs one step; "resolved" holds the chain's placeholder values, "payload" the submitted form or null.
+     */
+    @FunctionalInterface
+    private interface StepRunner {
+        void run(Player player, String[] resolved, PayloadView payload);
+    }
+
+    private record Step(String type, Condition condition, StepRunner runner) {}
+
+    /**
+     * Compiles the entries of an "actions" list. Steps that cannot run on the server are skipped
+     * with a warning.
+     *
+     * @return the compiled chain, or null if no step is usable
+     */
+    static ActionChain compile(List<?> entries, ConfigurationSection button, Logger logger) {
+        String dialogId = DialogConfigManager.getBuildingDialogId();
+        PlaceholderBatch templates = new PlaceholderBatch();
+        List<Step> steps = new ArrayList<>(entries.size());
+
+        for (Object entry : entries) {
+            ConfigurationSection sec = toSection(entry);
+            if (sec == null) {
+                logger.warning("Action step in " + dialogId + " is not a map, skipping");
+                continue;
+            }
+            String type = sec.getString("type", "").toLowerCase(Locale.ROOT);
+            try {
+                Condition condition = ConditionCompiler.compile(sec.get("if"), templates);
+                StepRunner runner = compileStep(type, sec, dialogId, templates, logger);
+                if (runner != null) {
+                    steps.add(new Step(type, condition, runner));
+                }
+            } catch (IllegalArgumentException e) {
+                logger.warning("Invalid " + type + " step in " + dialogId + ": " + e.getMessage());
+            }
+        }
+        return steps.isEmpty() ? null : new ActionChain(dialogId, button.getRoot(), templates, List.copyOf(steps));
+    }
+
+    private static StepRunner compileStep(String type, ConfigurationSection sec, String dialogId,
+                                          PlaceholderBatch templates, Logger logger) {
+        switch (type) {
+            case "run_command" -> {
+                int command = templates.add(required(sec, "command"));
+                return (player, resolved, payload) -> Bukkit.dispatchCommand(player, resolved[command]);
+            }
+            case "console_command" -> {
+                int command = templates.add(required(sec, "command"));
+                return (player, resolved, payload) -> {
+                    // Safety guard: refuse if unresolved %...% remain
+                    if (resolved[command].contains("%")) {
+                        throw new IllegalStateException("unresolved placeholders in console command: " + resolved[command]);
+                    }
+                    Bukkit.dispatchCommand(Bukkit.getConsoleSender(), resolved[command]);
+                };
+            }
+            case "message" -> {
+                int message = templates.add(required(sec, "message"));
+                return (player, resolved, payload) -> player.sendMessage(DialogConfigManager.parseFormattedText(resolved[message]));
+            }
+            case "show_dialog" -> {
+                String target = required(sec, "id");
+                if (!DialogConfigManager.hasDialog(target)) {
+                    throw new IllegalArgumentException("dialog does not exist: " + target);
+                }
+                return (player, resolved, payload) -> new DialogBuilder().build(player, target);
+            }
+            case "close" -> {
+                return (player, resolved, payload) -> player.closeInventory();
+            }
+            case "return" -> {
+                return (player, resolved, payload) -> player.closeDialog();
+            }
+            case "store_response" -> {
+                if (dialogId == null) {
+                    throw new IllegalArgumentException("store_response can only be used inside a dialog file");
+                }
+                String message = sec.getString("message", null);
+                Component reply = message != null && !message.isBlank() ? DialogConfigManager.parseFormattedText(message) : null;
+                return (player, resolved, payload) -> {
+                    if (payload == null) return;
+                    if (DialogBuilder.storeResponse(player, dialogId, payload)) {
+                        if (reply != null) player.sendMessage(reply);
+                    } else {
+                        player.sendMessage("§cYour response could not be saved right now. Please try again in a moment.");
+                    }
+                };
+            }
+            case "accept" -> {
+                if (dialogId == null || DialogConfigManager.getJoinTrigger(dialogId) == null) {
+                    throw new IllegalArgumentException("accept can only be used in dialogs with a join trigger");
+                }
+                return (player, resolved, payload) -> {
+                    player.closeDialog();
+                    Main main = Main.getInstance();
+                    if (main != null && main.getJoinTriggers() != null) {
+                        main.getJoinTriggers().accept(player, dialogId);
+                    }
+                };
+            }
+            default -> {
+                ActionHandler handler = ButtonBuilder.compileAddonHandler(type, sec);
+                if (handler != null) {
+                    return (player, resolved, payload) -> handler.execute(player);
+                }
+                if (ButtonBuilder.TYPES.isRegistered(type)) {
+                    logger.warning("Action " + type + " runs on the client and cannot be a step in " + dialogId
+                            + "; use it as the button's single action");
+                } else {
+                    logger.warning("Unsupported action type in actions list: " + type);
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Runs the chain for a click. The steps run together in one task on the next tick.
+     */
+    void execute(Player player, PayloadView payload) {
+        Main main = Main.getInstance();
+        if (main == null) {
+            run(player, payload);
+            return;
+        }
+        Bukkit.getScheduler().runTask(main, () -> ButtonBuilder.timed("actions", () -> run(player, payload)));
+    }
+
+    private void run(Player player, PayloadView payload) {
+        if (!player.isOnline()) return;
+
+        String[] resolved = templates.resolve(player, root);
+        for (Step step : steps) {
+            if (!step.condition().test(player, resolved)) continue;
+            try {
+                ButtonBuilder.timed(step.type(), () -> step.runner().run(player, resolved, payload));
+            } catch (RuntimeException e) {
+                Main main = Main.getInstance();
+                if (main != null) {
+                    main.getLogger().warning("Action step " + step.type() + " in " + dialogId + " failed, stopping chain: " + e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    private static String required(ConfigurationSection sec, String key) {
+        String value = sec.getString(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("missing '" + key + "'");
+        }
+        return value;
+    }
+
+    private static ConfigurationSection toSection(Object entry) {
+        if (entry instanceof ConfigurationSection section) {
+            return section;
+        }
+        if (entry instanceof Map<?, ?> map) {
+            MemoryConfiguration section = new MemoryConfiguration();
+            map.forEach((key, value) -> section.set(String.valueOf(key), value));
+            return section;
+        }
+        return null;
+    }
+}
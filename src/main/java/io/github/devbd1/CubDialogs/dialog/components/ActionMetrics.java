@@ -0,0 +1,56 @@
+package io.github.devbd1.CubDialogs.dialog.components;
+
+import io.github.devbd1.CubDialogs.API.ActionStats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-action-type execution counters, updated on every server-side button click.
+ */
+public final class ActionMetrics {
+    private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private ActionMetrics() {
+    }
+
+    static void record(String type, long elapsedNanos, boolean failed) {
+        Counter counter = counters.computeIfAbsent(type, t -> new Counter());
+        counter.executions.increment();
+        counter.totalNanos.add(elapsedNanos);
+        if (failed) counter.failures.increment();
+        counter.maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+    }
+
+    /**
+     * @return statistics of every action type executed so far, sorted by type
+     */
+    public static List<ActionStats> snapshot() {
+        List<ActionStats> stats = new ArrayList<>(counters.size());
+        counters.forEach((type, counter) -> stats.add(new ActionStats(
+                type,
+                counter.executions.sum(),
+                counter.failures.sum(),
+                counter.totalNanos.sum(),
+                counter.maxNanos.get()
+        )));
+        stats.sort(Comparator.comparing(ActionStats::type));
+        return stats;
+    }
+
+    public static void reset() {
+        counters.clear();
+    }
+
+    private static final class Counter {
+        final LongAdder executions = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+    }
+}
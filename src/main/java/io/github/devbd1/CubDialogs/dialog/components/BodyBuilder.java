@@ -1,60 +1,93 @@
 package io.github.devbd1.CubDialogs.dialog.components;
 
+import io.github.devbd1.CubDialogs.API.BodyRequest;
+import io.github.devbd1.CubDialogs.API.BodyType;
+import io.github.devbd1.CubDialogs.Main;
+import io.github.devbd1.CubDialogs.dialog.BodyProviderService;
 import io.github.devbd1.CubDialogs.dialog.DialogConfigManager;
 import io.papermc.paper.registry.data.dialog.body.DialogBody;
 import net.kyori.adventure.text.Component;
 import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
 
 /**
  * Handles the creation of dialog bodies based on configuration data.
  */
 public class BodyBuilder {
-    private final JavaPlugin plugin;
+    /**
+     * Body types by name. Addons add their own through CubDialogsAPI.
+     */
+    public static final ComponentRegistry<BodyType> TYPES = new ComponentRegistry<>();
+
+    private final Logger logger;
+
+    public BodyBuilder(Logger logger) {
+        this.logger = logger;
 
-    public BodyBuilder(JavaPlugin plugin) {
-        this.plugin = plugin;
+        TYPES.registerBuiltin("plain_message", this::buildPlainMessageBody);
+        TYPES.registerBuiltin("item", this::buildItemBody);
+        TYPES.registerBuiltin("provider", this::buildProviderBody);
     }
 
     /**
-     * Builds a DialogBody from a map-based configuration.
+     * Resolves a body entry of a dialog file to its type's builder. Called once when the file is loaded.
      *
      * @param config The configuration containing body settings
-     * @return A DialogBody instance or null if building failed
+     * @return the resolved entry, or null if it has no type
      */
-    public DialogBody buildBody(Configuration config) {
-        if (config == null) {
+    public ComponentRegistry.Spec<BodyType> compile(Configuration config) {
+        String type = config.getString("type");
+        if (type == null) {
+            logger.warning("Dialog body is missing required 'type' field");
             return null;
         }
+        return new ComponentRegistry.Spec<>(TYPES.slot(type), config);
+    }
 
-        //plugin.getLogger().info("[DEBUG] Building dialog body from config");
-
-        String type = config.getString("type");
+    /**
+     * Builds a DialogBody from a resolved body entry.
+     *
+     * @return A DialogBody instance or null if building failed
+     */
+    public DialogBody build(ComponentRegistry.Spec<BodyType> spec) {
+        BodyType type = spec.slot().get();
         if (type == null) {
-            plugin.getLogger().warning("Dialog body is missing required 'type' field");
+            logger.warning("Unsupported dialog body type: " + spec.slot().name());
             return null;
         }
+        try {
+            return type.build(spec.config());
+        } catch (RuntimeException e) {
+            logger.severe("Body type " + spec.slot().name() + " failed: " + e);
+            return null;
+        }
+    }
 
-        type = type.toLowerCase(Locale.ROOT);
-        //plugin.getLogger().info("[DEBUG] Dialog body type: " + type);
-
-        return switch (type) {
-            case "plain_message" -> buildPlainMessageBody(config);
-            case "item" -> buildItemBody(config);
-            default -> {
-                plugin.getLogger().warning("Unsupported dialog body type: " + type);
-                yield null;
-            }
-        };
+    /**
+     * Builds a DialogBody from a map-based configuration.
+     *
+     * @param config The configuration containing body settings
+     * @return A DialogBody instance or null if building failed
+     */
+    public DialogBody buildBody(Configuration config) {
+        if (config == null) {
+            return null;
+        }
+        ComponentRegistry.Spec<BodyType> spec = compile(config);
+        return spec != null ? build(spec) : null;
     }
 
     private DialogBody buildPlainMessageBody(Configuration config) {
-        //plugin.getLogger().info("[DEBUG] Building plain_message dialog body");
+        //logger.info("[DEBUG] Building plain_message dialog body");
 
         // Get message content
         String message = config.getString("message", config.getString("text", ""));
@@ -63,11 +96,64 @@ public class BodyBuilder {
         // Parse the message text with formatting support
         Component messageComponent = DialogConfigManager.parseFormattedText(message);
 
-        //plugin.getLogger().info("[DEBUG] Plain message body - message:'" + message + "', width:" + width);
+        //logger.info("[DEBUG] Plain message body - message:'" + message + "', width:" + width);
 
         return DialogBody.plainMessage(messageComponent, width);
     }
 
+    /**
+     * Body whose text comes from an addon's body provider. Only the cache is read here; if no value
+     * is ready yet the fallback text is shown and the provider is refreshed in the background.
+     */
+    private DialogBody buildProviderBody(Configuration config) {
+        String name = config.getString("provider");
+        int width = config.getInt("width", 300);
+        Component fallback = DialogConfigManager.parseFormattedText(config.getString("fallback", "&7Loading..."));
+
+        if (name == null || name.isBlank()) {
+            logger.warning("Provider body is missing required 'provider' field");
+            return DialogBody.plainMessage(fallback, width);
+        }
+        if (DialogConfigManager.isBuildingStatic()) {
+            logger.warning("Provider body " + name + " cannot be used in static dialog " + DialogConfigManager.getBuildingDialogId());
+            return DialogBody.plainMessage(fallback, width);
+        }
+
+        Main main = Main.getInstance();
+        BodyProviderService providers = main != null ? main.getBodyProviders() : null;
+        if (providers == null || !providers.isRegistered(name)) {
+            logger.warning("Unknown body provider: " + name);
+            return DialogBody.plainMessage(fallback, width);
+        }
+
+        boolean perPlayer = "player".equalsIgnoreCase(config.getString("scope", "global"));
+        Player viewer = perPlayer ? DialogConfigManager.getBuildingViewer() : null;
+        if (perPlayer && viewer == null) {
+            return DialogBody.plainMessage(fallback, width);
+        }
+
+        BodyRequest request = new BodyRequest(
+                name.toLowerCase(Locale.ROOT),
+                viewer != null ? viewer.getUniqueId() : null,
+                viewer != null ? viewer.getName() : null,
+                readParams(config.get("params"))
+        );
+        Component text = providers.resolve(request, Math.max(1, config.getLong("ttl_seconds", 30)) * 1000L);
+        return DialogBody.plainMessage(text != null ? text : fallback, width);
+    }
+
+    private static Map<String, String> readParams(Object params) {
+        Map<String, String> values = new HashMap<>();
+        if (params instanceof ConfigurationSection section) {
+            for (String key : section.getKeys(false)) {
+                values.put(key, String.valueOf(section.get(key)));
+            }
+        } else if (params instanceof Map<?, ?> map) {
+            map.forEach((key, value) -> values.put(String.valueOf(key), String.valueOf(value)));
+        }
+        return values;
+    }
+
     private DialogBody buildItemBody(Configuration config) {
         // Get item configuration
         String materialName = config.getString("material", "STONE");
@@ -118,14 +204,14 @@ public class BodyBuilder {
             if (width > 0 && width <= 256) {
                 builder = builder.width(width);
             } else if (width > 256) {
-                plugin.getLogger().warning("[DEBUG] Width value " + width + " exceeds maximum 256 for material: " + materialName);
+                logger.warning("[DEBUG] Width value " + width + " exceeds maximum 256 for material: " + materialName);
                 builder = builder.width(256);
             }
 
             if (height > 0 && height <= 256) {
                 builder = builder.height(height);
             } else if (height > 256) {
-                plugin.getLogger().warning("[DEBUG] Height value " + height + " exceeds maximum 256 for material: " + materialName);
+                logger.warning("[DEBUG] Height value " + height + " exceeds maximum 256 for material: " + materialName);
                 builder = builder.height(256);
             }
 
@@ -139,10 +225,10 @@ public class BodyBuilder {
             return builder.build();
 
         } catch (IllegalArgumentException e) {
-            plugin.getLogger().warning("[DEBUG] Invalid material: " + materialName + " for dialog body");
+            logger.warning("[DEBUG] Invalid material: " + materialName + " for dialog body");
             return null;
         } catch (Exception e) {
-            plugin.getLogger().severe("[DEBUG] Error creating item dialog body: " + e.getMessage());
+            logger.severe("[DEBUG] Error creating item dialog body: " + e.getMessage());
             e.printStackTrace();
             return null;
         }
@@ -1,24 +1,111 @@
 package io.github.devbd1.CubDialogs.dialog.components;
 
+import io.github.devbd1.CubDialogs.API.ActionHandler;
+import io.github.devbd1.CubDialogs.API.ActionType;
+import io.github.devbd1.CubDialogs.API.PayloadView;
+import io.github.devbd1.CubDialogs.API.Registration;
+import io.github.devbd1.CubDialogs.Main;
+import io.github.devbd1.CubDialogs.dialog.DialogActionBridge;
+import io.github.devbd1.CubDialogs.dialog.DialogBuilder;
 import io.github.devbd1.CubDialogs.dialog.DialogConfigManager;
+import io.github.devbd1.CubDialogs.dialog.PaperPayloadView;
 import io.github.devbd1.CubDialogs.utilities.CommandPlaceholderUtility;
+import io.github.devbd1.CubDialogs.utilities.ConfigMaps;
 import io.papermc.paper.dialog.Dialog;
 import io.papermc.paper.registry.data.dialog.ActionButton;
 import io.papermc.paper.registry.data.dialog.action.DialogAction;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.key.Key;
+import net.kyori.adventure.nbt.api.BinaryTagHolder;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickCallback;
 import net.kyori.adventure.text.event.ClickEvent;
 import org.bukkit.Bukkit;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.entity.Player;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
 
 import static net.kyori.adventure.text.event.ClickEvent.changePage;
 
 public class ButtonBuilder {
-    private final JavaPlugin plugin;
+    /**
+     * How long server-side button callbacks stay registered. Builds that are kept and reused must
+     * be rebuilt well before this runs out, or their buttons stop doing anything.
+     */
+    public static final Duration CALLBACK_LIFETIME = Duration.ofHours(12);
+
+    // Callbacks with side effects (commands, rewards, responses) run once, so a click cannot be
+    // replayed; dialogs holding them are built for every open (see DialogMeta.serverActions)
+    private static final ClickCallback.Options SINGLE_USE = ClickCallback.Options.builder()
+            .uses(1)
+            .lifetime(CALLBACK_LIFETIME)
+            .build();
+
+    // Navigation (close, return, pages, dialog links) is harmless to repeat and may sit in a build
+    // shown to many players (bulk opens, cached variants)
+    private static final ClickCallback.Options SHARED_NAVIGATION = ClickCallback.Options.builder()
+            .uses(ClickCallback.UNLIMITED_USES)
+            .lifetime(CALLBACK_LIFETIME)
+            .build();
+
+    // Server-side actions without side effects beyond moving between dialogs
+    private static final Set<String> NAVIGATION_ACTIONS = Set.of("close", "return", "show_dialog");
+
+    // Actions handled entirely by the client; all others, including addon actions, need a
+    // server-side callback, which static (registry) dialogs cannot hold
+    private static final Set<String> CLIENT_ACTIONS = Set.of(
+            "copy_to_clipboard", "show_dialog", "open_url", "suggest_command", "custom", "custom_click", "null"
+    );
+
+    // Client actions that do not depend on the dialog they are in; buttons using them can be shared
+    // (custom actions carry their dialog's id, so they are not among them)
+    private static final Set<String> CONTEXT_FREE_ACTIONS = Set.of(
+            "copy_to_clipboard", "open_url", "suggest_command", "null"
+    );
+
+    /**
+     * Action types by name. Addons add their own through CubDialogsAPI.
+     */
+    public static final ComponentRegistry<ActionFactory> TYPES = new ComponentRegistry<>(
+            factory -> factory instanceof AddonActionFactory addon ? addon.actionType().getClass() : factory.getClass()
+    );
 
-    public ButtonBuilder(JavaPlugin plugin) {
-        this.plugin = plugin;
+    // Addon action handlers compiled for the current dialog generation
+    private static final Map<CompiledKey, ActionHandler> compiledHandlers = new ConcurrentHashMap<>();
+    private static volatile long compiledGeneration = -1;
+
+    private final Logger logger;
+
+    public ButtonBuilder(Logger logger) {
+        this.logger = logger;
+
+        TYPES.registerBuiltin("close", this::closeAction);
+        TYPES.registerBuiltin("return", this::returnAction);
+        TYPES.registerBuiltin("copy_to_clipboard", this::copyToClipboardAction);
+        TYPES.registerBuiltin("show_dialog", this::showDialogAction);
+        TYPES.registerBuiltin("open_url", this::openUrlAction);
+        TYPES.registerBuiltin("run_command", this::runCommandAction);
+        TYPES.registerBuiltin("console_command", this::consoleCommandAction);
+        TYPES.registerBuiltin("suggest_command", this::suggestCommandAction);
+        TYPES.registerBuiltin("custom", this::customAction);
+        TYPES.registerBuiltin("custom_click", this::customAction);
+        TYPES.registerBuiltin("store_response", this::storeResponseAction);
+        TYPES.registerBuiltin("accept", this::acceptAction);
+        TYPES.registerBuiltin("null", (type, sec) -> null);
+    }
+
+    /**
+     * Creates the dialog action for one button's "action" section.
+     */
+    @FunctionalInterface
+    public interface ActionFactory {
+        DialogAction create(String type, ConfigurationSection sec);
     }
 
     public ActionButton buildButton(ConfigurationSection sec, String defText, String defDesc, String defColor, int defWidth) {
@@ -35,7 +122,9 @@ public class ButtonBuilder {
         String desc = sec.getString("description", defDesc);
         int width = sec.getInt("width", defWidth);
 
-        DialogAction action = buildAction(sec.getConfigurationSection("action"));
+        DialogAction action = sec.isList("actions")
+                ? buildChain(sec)
+                : buildAction(sec.getConfigurationSection("action"));
 
         String formattedText = io.github.devbd1.CubDialogs.utilities.ColorManager.applyColorFormatting(text);
         String formattedDesc = io.github.devbd1.CubDialogs.utilities.ColorManager.applyColorFormatting(desc);
@@ -51,112 +140,408 @@ public class ButtonBuilder {
         );
     }
 
+    /**
+     * True if the button builds to the same thing in every dialog and for every viewer: no action
+     * steps and at most a built-in client action, so one instance can be shared between dialogs.
+     */
+    public boolean isContextFree(ConfigurationSection sec) {
+        if (sec.isList("actions")) return false;
+        ConfigurationSection action = sec.getConfigurationSection("action");
+        if (action == null) return true;
+        String type = action.getString("type", "return").toLowerCase(java.util.Locale.ROOT);
+        return CONTEXT_FREE_ACTIONS.contains(type) && TYPES.slot(type).isBuiltin();
+    }
+
     private DialogAction buildAction(ConfigurationSection sec) {
         if (sec == null) return null;
 
         String type = sec.getString("type", "return").toLowerCase(java.util.Locale.ROOT);
-        return switch (type) {
-            case "close" -> DialogAction.staticAction(ClickEvent.callback(audience -> {
-                if (audience instanceof org.bukkit.entity.Player player) {
-                    player.closeInventory();
-                }
-            }));
+        if (DialogConfigManager.isBuildingStatic() && !CLIENT_ACTIONS.contains(type)) {
+            return staticFallback(type, sec);
+        }
 
-            case "return" -> DialogAction.staticAction(ClickEvent.callback(audience -> audience.closeDialog()));
+        ActionFactory factory = TYPES.slot(type).get();
+        if (factory == null) {
+            logger.warning("Unsupported action type: " + type);
+            return null;
+        }
+        return factory.create(type, sec);
+    }
 
-            case "copy_to_clipboard" -> {
-                String text = sec.getString("text");
-                if (text == null || text.isBlank()) {
-                    plugin.getLogger().warning("Missing text for copy_to_clipboard action");
-                }
-                yield DialogAction.staticAction(ClickEvent.copyToClipboard(text));
+    /**
+     * Compiles a button's "actions" list into one callback that runs every step in order.
+     */
+    private DialogAction buildChain(ConfigurationSection button) {
+        if (DialogConfigManager.isBuildingStatic()) {
+            logger.warning("actions lists run on the server and cannot be used in static dialog "
+                    + DialogConfigManager.getBuildingDialogId());
+            return null;
+        }
+        ActionChain chain = ActionChain.compile(button.getList("actions"), button, logger);
+        if (chain == null) {
+            return null;
+        }
+        String dialogId = DialogConfigManager.getBuildingDialogId();
+        boolean drafts = keepsDrafts();
+        // A custom click carries the form values, which store_response steps need
+        return DialogAction.customClick((response, audience) -> {
+            if (!(audience instanceof Player player)) return;
+            PayloadView payload = response != null ? new PaperPayloadView(response) : null;
+            if (drafts && payload != null) {
+                DialogBuilder.saveDraft(player.getUniqueId(), dialogId, payload);
             }
+            chain.execute(player, payload);
+        }, SINGLE_USE);
+    }
 
-            case "show_dialog" -> {
-                String dialogId = sec.getString("id");
-                if (dialogId == null || dialogId.isBlank()) {
-                    plugin.getLogger().warning("Missing dialog ID for show_dialog action");
-                    yield null;
-                }
-                if (!DialogConfigManager.hasDialog(dialogId)) {
-                    plugin.getLogger().warning("Dialog ID does not exist: " + dialogId);
-                    yield null;
-                }
-                Dialog dialog = DialogConfigManager.buildDialog(dialogId);
-                if (dialog == null) {
-                    plugin.getLogger().warning("Failed to build dialog: " + dialogId);
-                    yield null;
-                }
-                yield DialogAction.staticAction(ClickEvent.showDialog(dialog));
+    private DialogAction closeAction(String type, ConfigurationSection sec) {
+        return navigationAction(type, audience -> {
+            if (audience instanceof org.bukkit.entity.Player player) {
+                player.closeInventory();
             }
+        });
+    }
 
-            case "open_url" -> {
-                String url = sec.getString("url");
-                if (url == null || url.isBlank()) {
-                    plugin.getLogger().warning("Missing URL for open_url action");
-                    yield null;
+    private DialogAction returnAction(String type, ConfigurationSection sec) {
+        return navigationAction(type, audience -> audience.closeDialog());
+    }
+
+    private DialogAction copyToClipboardAction(String type, ConfigurationSection sec) {
+        String text = sec.getString("text");
+        if (text == null || text.isBlank()) {
+            logger.warning("Missing text for copy_to_clipboard action");
+        }
+        return DialogAction.staticAction(ClickEvent.copyToClipboard(text));
+    }
+
+    private DialogAction showDialogAction(String type, ConfigurationSection sec) {
+        String dialogId = sec.getString("id");
+        if (dialogId == null || dialogId.isBlank()) {
+            logger.warning("Missing dialog ID for show_dialog action");
+            return null;
+        }
+        if (!DialogConfigManager.hasDialog(dialogId)) {
+            logger.warning("Dialog ID does not exist: " + dialogId);
+            return null;
+        }
+        if (!DialogConfigManager.isBuildingStatic() && (keepsDrafts() || DialogConfigManager.isBuiltPerViewer(dialogId)
+                || DialogConfigManager.isBuilding(dialogId))) {
+            // Jump through the server so the current form is saved and the target is pre-filled,
+            // or built for the player who clicked; a target that links back here cannot be embedded
+            return navigationAction(type, audience -> {
+                if (audience instanceof Player player) {
+                    new DialogBuilder().build(player, dialogId);
                 }
-                yield DialogAction.staticAction(ClickEvent.openUrl(url));
+            });
+        }
+        Dialog dialog = DialogConfigManager.buildDialog(dialogId);
+        if (dialog == null) {
+            logger.warning("Failed to build dialog: " + dialogId);
+            return null;
+        }
+        return DialogAction.staticAction(ClickEvent.showDialog(dialog));
+    }
+
+    private DialogAction openUrlAction(String type, ConfigurationSection sec) {
+        String url = sec.getString("url");
+        if (url == null || url.isBlank()) {
+            logger.warning("Missing URL for open_url action");
+            return null;
+        }
+        return DialogAction.staticAction(ClickEvent.openUrl(url));
+    }
+
+    private DialogAction runCommandAction(String type, ConfigurationSection sec) {
+        String command = sec.getString("command");
+        if (command == null || command.isBlank()) {
+            logger.warning("Missing command for run_command action");
+            return null;
+        }
+        var root = sec.getRoot();
+        return callbackAction(type, audience -> {
+            String resolved = CommandPlaceholderUtility.resolveCommandPlaceholders(command, audience, root);
+            if (audience instanceof org.bukkit.entity.Player player) {
+                Bukkit.dispatchCommand(player, resolved);
+            } else {
+                logger.warning("Cannot run player command: audience is not a player.");
             }
+        });
+    }
 
-            case "run_command" -> {
-                String command = sec.getString("command");
-                if (command == null || command.isBlank()) {
-                    plugin.getLogger().warning("Missing command for run_command action");
-                    yield null;
-                }
-                var root = sec.getRoot();
-                yield DialogAction.staticAction(ClickEvent.callback(audience -> {
-                    String resolved = CommandPlaceholderUtility.resolveCommandPlaceholders(command, audience, root);
-                    if (audience instanceof org.bukkit.entity.Player player) {
-                        Bukkit.dispatchCommand(player, resolved);
-                    } else {
-                        plugin.getLogger().warning("Cannot run player command: audience is not a player.");
-                    }
-                }));
+    private DialogAction consoleCommandAction(String type, ConfigurationSection sec) {
+        String command = sec.getString("command");
+        if (command == null || command.isBlank()) {
+            logger.warning("Missing command for console_command action");
+            return null;
+        }
+        var root = sec.getRoot();
+        return callbackAction(type, audience -> {
+            String resolved = CommandPlaceholderUtility.resolveCommandPlaceholders(command, audience, root);
+
+            // Safety guard: refuse if unresolved %...% remain
+            if (resolved.contains("%")) {
+                logger.warning("Refusing to execute console command with unresolved placeholders: " + resolved);
+                return;
             }
 
-            case "console_command" -> {
-                String command = sec.getString("command");
-                if (command == null || command.isBlank()) {
-                    plugin.getLogger().warning("Missing command for console_command action");
-                    yield null;
+            var console = Bukkit.getConsoleSender();
+            Bukkit.dispatchCommand(console, resolved);
+        });
+    }
+
+    private DialogAction suggestCommandAction(String type, ConfigurationSection sec) {
+        String command = sec.getString("command");
+        if (command == null || command.isBlank()) {
+            logger.warning("Missing command for suggest_command action");
+            return null;
+        }
+        return DialogAction.staticAction(ClickEvent.suggestCommand(command));
+    }
+
+    private DialogAction customAction(String type, ConfigurationSection sec) {
+        String key = sec.getString("key", null);
+        // The client merges the additions into the payload, so the click says which dialog it came from
+        String dialogId = DialogConfigManager.getBuildingDialogId();
+        BinaryTagHolder additions = dialogId != null
+                ? BinaryTagHolder.binaryTagHolder("{" + DialogActionBridge.DIALOG_ID_FIELD + ":" + snbtString(dialogId) + "}")
+                : null;
+        return DialogAction.customClick(Key.key(key), additions);
+    }
+
+    private static String snbtString(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private DialogAction storeResponseAction(String type, ConfigurationSection sec) {
+        String dialogId = DialogConfigManager.getBuildingDialogId();
+        if (dialogId == null) {
+            logger.warning("store_response action can only be used inside a dialog file");
+            return null;
+        }
+        String message = sec.getString("message", null);
+        Component reply = message != null && !message.isBlank() ? DialogConfigManager.parseFormattedText(message) : null;
+        return DialogAction.customClick((response, audience) -> {
+            if (response == null || !(audience instanceof Player player)) {
+                return;
+            }
+            timed(type, () -> {
+                if (DialogBuilder.storeResponse(player, dialogId, new PaperPayloadView(response))) {
+                    if (reply != null) player.sendMessage(reply);
+                } else {
+                    player.sendMessage("§cYour response could not be saved right now. Please try again in a moment.");
                 }
-                var root = sec.getRoot();
-                yield DialogAction.staticAction(ClickEvent.callback(audience -> {
-                    String resolved = CommandPlaceholderUtility.resolveCommandPlaceholders(command, audience, root);
-
-                    // Safety guard: refuse if unresolved %...% remain
-                    if (resolved.contains("%")) {
-                        plugin.getLogger().warning("Refusing to execute console command with unresolved placeholders: " + resolved);
-                        return;
-                    }
-
-                    var console = Bukkit.getConsoleSender();
-                    Bukkit.dispatchCommand(console, resolved);
-                }));
+            });
+        }, SINGLE_USE);
+    }
+
+    private DialogAction acceptAction(String type, ConfigurationSection sec) {
+        String dialogId = DialogConfigManager.getBuildingDialogId();
+        if (dialogId == null || DialogConfigManager.getJoinTrigger(dialogId) == null) {
+            logger.warning("accept action can only be used in dialogs with a join trigger");
+            return null;
+        }
+        String message = sec.getString("message", null);
+        Component reply = message != null && !message.isBlank() ? DialogConfigManager.parseFormattedText(message) : null;
+        return callbackAction(type, audience -> {
+            if (!(audience instanceof Player player)) return;
+            audience.closeDialog();
+            if (reply != null) player.sendMessage(reply);
+            Main main = Main.getInstance();
+            if (main != null && main.getJoinTriggers() != null) {
+                main.getJoinTriggers().accept(player, dialogId);
             }
+        });
+    }
 
-            case "suggest_command" -> {
-                String command = sec.getString("command");
-                if (command == null || command.isBlank()) {
-                    plugin.getLogger().warning("Missing command for suggest_command action");
-                    yield null;
+    /**
+     * Registers an addon action type. Its handler is compiled once per button and dialog load and
+     * runs as a server-side callback.
+     *
+     * @return a Registration handle that removes the type again
+     */
+    public static Registration registerActionType(String name, ActionType actionType) {
+        Objects.requireNonNull(actionType, "actionType");
+        return TYPES.register(name, new AddonActionFactory(actionType));
+    }
+
+    /**
+     * Adapts an addon action type; compiled handlers are reused until the dialogs are reloaded.
+     */
+    private record AddonActionFactory(ActionType actionType) implements ActionFactory {
+        @Override
+        public DialogAction create(String type, ConfigurationSection sec) {
+            ActionHandler handler = compiled(this, type, sec);
+            if (handler == null) return null;
+            return callbackAction(type, audience -> {
+                if (audience instanceof Player player) {
+                    handler.execute(player);
                 }
-                yield DialogAction.staticAction(ClickEvent.suggestCommand(command));
+            });
+        }
+    }
+
+    /**
+     * Compiles an addon action for use as a chain step.
+     *
+     * @return the handler, or null if the type is not an addon action type
+     */
+    static ActionHandler compileAddonHandler(String type, ConfigurationSection sec) {
+        return TYPES.slot(type).get() instanceof AddonActionFactory factory ? compiled(factory, type, sec) : null;
+    }
+
+    private static ActionHandler compiled(AddonActionFactory factory, String type, ConfigurationSection sec) {
+        long generation = DialogConfigManager.getGeneration();
+        if (generation != compiledGeneration) {
+            compiledHandlers.clear();
+            compiledGeneration = generation;
+        }
+
+        // Buttons from lists are converted to fresh sections on every build, so key by content;
+        // nested sections compare by identity, so they are copied into plain maps
+        CompiledKey key = new CompiledKey(factory, DialogConfigManager.getBuildingDialogId(), ConfigMaps.toMap(sec));
+        ActionHandler handler = compiledHandlers.get(key);
+        if (handler != null) return handler;
+        try {
+            handler = factory.actionType().compile(sec);
+        } catch (RuntimeException e) {
+            Main main = Main.getInstance();
+            if (main != null) {
+                main.getLogger().warning("Invalid " + type + " action in dialog " + key.dialogId() + ": " + e.getMessage());
             }
+            return null;
+        }
+        if (handler != null) {
+            compiledHandlers.put(key, handler);
+        }
+        return handler;
+    }
 
-            case "custom" -> {
-                String key = sec.getString("key", null);
-                yield DialogAction.customClick(Key.key(key), null);
+    private record CompiledKey(AddonActionFactory factory, String dialogId, Map<String, Object> values) {}
+
+    /**
+     * Action that opens another dialog. Static dialogs are linked by registry reference; others are
+     * built only when the button is clicked, so a menu never builds all of its targets up front.
+     */
+    public DialogAction openDialogAction(String dialogId) {
+        if (DialogConfigManager.isBuildingStatic()) {
+            // Registry dialogs cannot hold callbacks; embed the target instead
+            Dialog dialog = DialogConfigManager.buildDialog(dialogId);
+            return dialog != null ? DialogAction.staticAction(ClickEvent.showDialog(dialog)) : null;
+        }
+        if (DialogConfigManager.isRegisteredStatic(dialogId)) {
+            Dialog dialog = DialogConfigManager.buildDialog(dialogId);
+            if (dialog != null) {
+                return DialogAction.staticAction(ClickEvent.showDialog(dialog));
+            }
+        }
+        return navigationAction("show_dialog", audience -> {
+            if (audience instanceof Player player) {
+                new DialogBuilder().build(player, dialogId);
             }
+        });
+    }
 
-            case "null" -> null;
+    /**
+     * Action that shows another page of a paginated dialog, built when clicked.
+     */
+    public DialogAction pageAction(String dialogId, int page) {
+        return navigationAction("page", audience -> {
+            Player viewer = audience instanceof Player player ? player : null;
+            Dialog dialog = DialogConfigManager.buildDialogPage(viewer, dialogId, page);
+            if (dialog != null) {
+                audience.showDialog(dialog);
+            }
+        });
+    }
 
+    /**
+     * Replacement for callback-based actions in static dialogs. A button without action already
+     * closes the dialog, and player commands without placeholders can run as a plain click event.
+     */
+    private DialogAction staticFallback(String type, ConfigurationSection sec) {
+        String dialogId = DialogConfigManager.getBuildingDialogId();
+        switch (type) {
+            case "close", "return" -> {
+                return null;
+            }
+            case "run_command" -> {
+                String command = sec.getString("command");
+                if (command != null && !command.isBlank() && !command.contains("%")) {
+                    return DialogAction.staticAction(ClickEvent.runCommand(command.startsWith("/") ? command : "/" + command));
+                }
+                logger.warning("run_command with placeholders cannot be used in static dialog " + dialogId);
+                return null;
+            }
             default -> {
-                plugin.getLogger().warning("Unsupported action type: " + type);
-                yield null;
+                logger.warning("Action " + type + " runs on the server and cannot be used in static dialog " + dialogId
+                        + "; use a custom action key instead");
+                return null;
+            }
+        }
+    }
+
+    /**
+     * True if the dialog being built opted in to drafts.
+     */
+    private static boolean keepsDrafts() {
+        String dialogId = DialogConfigManager.getBuildingDialogId();
+        return dialogId != null && DialogConfigManager.isDraftsEnabled(dialogId);
+    }
+
+    /**
+     * Wraps a server-side callback with side effects; it runs once.
+     */
+    private static DialogAction callbackAction(String type, ClickCallback<Audience> callback) {
+        return callbackAction(type, SINGLE_USE, callback);
+    }
+
+    /**
+     * Wraps a server-side callback that only moves the player between dialogs. It can be clicked
+     * by every player a shared build is shown to; builds for a single open keep it single-use, so
+     * it is released once clicked.
+     */
+    private static DialogAction navigationAction(String type, ClickCallback<Audience> callback) {
+        return callbackAction(type, DialogConfigManager.isBuildingForSingleOpen() ? SINGLE_USE : SHARED_NAVIGATION, callback);
+    }
+
+    /**
+     * Wraps a server-side callback, timed under the action type. In dialogs with drafts enabled a
+     * custom click callback is used instead, because only those receive the current form values,
+     * which are saved as a draft first.
+     */
+    private static DialogAction callbackAction(String type, ClickCallback.Options options, ClickCallback<Audience> callback) {
+        String dialogId = DialogConfigManager.getBuildingDialogId();
+        if (!keepsDrafts()) {
+            return DialogAction.staticAction(ClickEvent.callback(audience -> timed(type, () -> callback.accept(audience)), options));
+        }
+        return DialogAction.customClick((response, audience) -> {
+            if (response != null && audience instanceof Player player) {
+                DialogBuilder.saveDraft(player.getUniqueId(), dialogId, new PaperPayloadView(response));
             }
-        };
+            timed(type, () -> callback.accept(audience));
+        }, options);
+    }
+
+    /**
+     * True if a button action of this type runs on the server with a side effect beyond navigation.
+     * Unknown and addon types count as having one.
+     */
+    public static boolean hasSideEffects(String type) {
+        String name = type.toLowerCase(java.util.Locale.ROOT);
+        if (!TYPES.slot(name).isBuiltin()) {
+            return true;
+        }
+        return !CLIENT_ACTIONS.contains(name) && !NAVIGATION_ACTIONS.contains(name);
+    }
+
+    static void timed(String type, Runnable action) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            action.run();
+            failed = false;
+        } finally {
+            ActionMetrics.record(type, System.nanoTime() - start, failed);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,168 @@
+package io.github.devbd1.CubDialogs.dialog.components;
+
+import io.github.devbd1.CubDialogs.API.Registration;
+import org.bukkit.configuration.Configuration;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Named builders for one kind of dialog component (bodies, inputs).
+ *
+ * Each name owns a {@link Slot} that dialog files resolve once when they are loaded; building a
+ * dialog then calls the slot's current builder directly. Registering or removing a builder swaps
+ * the slot's content, so loaded dialogs pick up addon types without being re-resolved, including
+ * types registered after the dialogs were loaded.
+ *
+ * @param <T> builder interface
+ */
+public final class ComponentRegistry<T> {
+    private final Map<String, Slot<T>> slots = new ConcurrentHashMap<>();
+    private final Function<T, Class<?>> implementation;
+    private volatile Consumer<String> changeListener = name -> {};
+
+    public ComponentRegistry() {
+        this(Object::getClass);
+    }
+
+    /**
+     * @param implementation class that implements a builder, for builders that wrap addon code
+     */
+    public ComponentRegistry(Function<T, Class<?>> implementation) {
+        this.implementation = implementation;
+    }
+
+    /**
+     * Sets the callback told the type name whenever an addon registers or removes a builder, so
+     * builds made with the previous builder can be dropped. Built-in registrations are not reported.
+     */
+    public void onChange(Consumer<String> listener) {
+        this.changeListener = Objects.requireNonNull(listener, "listener");
+    }
+
+    /**
+     * Returns the slot for a type name, creating an empty one for names nothing is registered for yet.
+     */
+    public Slot<T> slot(String name) {
+        return slots.computeIfAbsent(name.toLowerCase(Locale.ROOT), Slot::new);
+    }
+
+    /**
+     * Registers a built-in builder. It is restored when a builder replacing it is unregistered.
+     */
+    public void registerBuiltin(String name, T builder) {
+        slot(name).set(builder, true);
+    }
+
+    /**
+     * Registers a builder for a type name, replacing the current one.
+     *
+     * @return a Registration handle that removes the builder again
+     */
+    public Registration register(String name, T builder) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(builder, "builder");
+        Slot<T> slot = slot(name);
+        slot.set(builder, false);
+        changeListener.accept(slot.name);
+        return new SlotRegistration<>(this, slot, builder);
+    }
+
+    public boolean isRegistered(String name) {
+        Slot<T> slot = slots.get(name.toLowerCase(Locale.ROOT));
+        return slot != null && slot.builder != null;
+    }
+
+    /**
+     * Removes every builder whose class was loaded by the given class loader, e.g. an unloading addon.
+     *
+     * @return number of builders removed
+     */
+    public int unregisterAll(ClassLoader classLoader) {
+        int removed = 0;
+        for (Slot<T> slot : slots.values()) {
+            T builder = slot.builder;
+            if (builder != null && builder != slot.builtin
+                    && implementation.apply(builder).getClassLoader() == classLoader
+                    && restore(slot, builder)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private boolean restore(Slot<T> slot, T builder) {
+        boolean restored = slot.restore(builder);
+        if (restored) {
+            changeListener.accept(slot.name);
+        }
+        return restored;
+    }
+
+    /**
+     * The builder currently registered for one type name.
+     */
+    public static final class Slot<T> {
+        private final String name;
+        private volatile T builder;
+        private volatile T builtin;
+
+        private Slot(String name) {
+            this.name = name;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        /**
+         * @return the current builder, or null if none is registered
+         */
+        public T get() {
+            return builder;
+        }
+
+        /**
+         * @return true if the built-in builder is in place, i.e. no addon replaced it
+         */
+        public boolean isBuiltin() {
+            T current = builder;
+            return current != null && current == builtin;
+        }
+
+        private synchronized void set(T builder, boolean builtin) {
+            if (builtin) this.builtin = builder;
+            this.builder = builder;
+        }
+
+        private synchronized boolean restore(T expected) {
+            if (builder != expected) return false;
+            builder = builtin;
+            return true;
+        }
+    }
+
+    /**
+     * A component entry of a dialog file, resolved when the file was loaded.
+     *
+     * @param slot   builder slot for the entry's "type"
+     * @param config the entry converted to a configuration once; read-only
+     */
+    public record Spec<T>(Slot<T> slot, Configuration config) {}
+
+    private record SlotRegistration<T>(ComponentRegistry<T> registry, Slot<T> slot, T builder) implements Registration {
+        @Override
+        public void unregister() {
+            registry.restore(slot, builder);
+        }
+
+        @Override
+        public boolean isActive() {
+            return slot.builder == builder;
+        }
+    }
+}
@@ -1,26 +1,43 @@
 package io.github.devbd1.CubDialogs.dialog.components;
 
+import io.github.devbd1.CubDialogs.API.InputType;
 import io.github.devbd1.CubDialogs.dialog.DialogConfigManager;
 import io.papermc.paper.registry.data.dialog.input.DialogInput;
 import io.papermc.paper.registry.data.dialog.input.SingleOptionDialogInput;
 import io.papermc.paper.registry.data.dialog.input.TextDialogInput;
 import net.kyori.adventure.text.Component;
 import org.bukkit.configuration.Configuration;
-import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Locale;
+import java.util.logging.Logger;
 
 /**
  * Handles the creation of dialog inputs based on configuration data.
  */
 public class InputBuilder {
-    private final JavaPlugin plugin;
+    /**
+     * Input types by name. Addons add their own through CubDialogsAPI.
+     */
+    public static final ComponentRegistry<InputType> TYPES = new ComponentRegistry<>();
+
+    private final Logger logger;
 
-    public InputBuilder(JavaPlugin plugin) {
-        this.plugin = plugin;
+    public InputBuilder(Logger logger) {
+        this.logger = logger;
+
+        TYPES.registerBuiltin("boolean", this::buildBooleanInput);
+        TYPES.registerBuiltin("number_range", this::buildNumberRangeInput);
+        TYPES.registerBuiltin("single_option", this::buildSingleOptionInput);
+        TYPES.registerBuiltin("text", this::buildTextInput);
+    }
+
+    /**
+     * Resolves an input entry of a dialog file to its type's builder. Called once when the file is loaded.
+     */
+    public ComponentRegistry.Spec<InputType> compile(Configuration config) {
+        return new ComponentRegistry.Spec<>(TYPES.slot(config.getString("type", "text")), config);
     }
 
     /**
@@ -31,31 +48,39 @@ public class InputBuilder {
      * @return A DialogInput instance or null if building failed
      */
     public DialogInput buildInput(Configuration config, Component label) {
-        String id = config.getString("id");
-        //plugin.getLogger().info("[DEBUG] Building input with ID: " + id);
+        return buildInput(compile(config), config, label);
+    }
 
+    /**
+     * Builds a DialogInput from a resolved input entry.
+     *
+     * @param spec   the entry resolved at load time
+     * @param config the entry's configuration, or a copy with an overridden initial value
+     * @param label  The component label for the input
+     * @return A DialogInput instance or null if building failed
+     */
+    public DialogInput buildInput(ComponentRegistry.Spec<InputType> spec, Configuration config, Component label) {
+        String id = config.getString("id");
         if (id == null || id.isBlank()) {
-            plugin.getLogger().warning("Dialog input is missing 'id' field");
+            logger.warning("Dialog input is missing 'id' field");
             return null;
         }
 
-        String type = config.getString("type", "text").toLowerCase(Locale.ROOT);
-        //plugin.getLogger().info("[DEBUG] Input type: " + type);
-
-        return switch (type) {
-            case "boolean" -> buildBooleanInput(id, label, config);
-            case "number_range" -> buildNumberRangeInput(id, label, config);
-            case "single_option" -> buildSingleOptionInput(id, label, config);
-            case "text" -> buildTextInput(id, label, config);
-            default -> {
-                plugin.getLogger().warning("Unsupported input type: " + type + " for id=" + id);
-                yield null;
-            }
-        };
+        InputType type = spec.slot().get();
+        if (type == null) {
+            logger.warning("Unsupported input type: " + spec.slot().name() + " for id=" + id);
+            return null;
+        }
+        try {
+            return type.build(id, label, config);
+        } catch (RuntimeException e) {
+            logger.severe("Input type " + spec.slot().name() + " failed for id=" + id + ": " + e);
+            return null;
+        }
     }
 
     private DialogInput buildBooleanInput(String id, Component label, Configuration config) {
-        //plugin.getLogger().info("[DEBUG] Building boolean input");
+        //logger.info("[DEBUG] Building boolean input");
         boolean initial = config.getBoolean("initial", false);
         boolean labelVisible = config.getBoolean("label_visible", true);
         int width = config.getInt("width", 300);
@@ -64,7 +89,7 @@ public class InputBuilder {
         Object onTrueObj = config.get("on_true");
         Object onFalseObj = config.get("on_false");
 
-        //plugin.getLogger().info("[DEBUG] Boolean - initial:" + initial + ", labelVisible:" + labelVisible + ", width:" + width);
+        //logger.info("[DEBUG] Boolean - initial:" + initial + ", labelVisible:" + labelVisible + ", width:" + width);
 
         // Build the boolean input with custom true/false values if provided
         var builder = DialogInput.bool(id, label)
@@ -75,25 +100,25 @@ public class InputBuilder {
             if (onTrueObj instanceof String strValue) {
                 builder = builder.onTrue(strValue);
             } else {
-                plugin.getLogger().info("[DEBUG] Couldn't apply custom true value because it is not a string: " + onTrueObj);
+                logger.info("[DEBUG] Couldn't apply custom true value because it is not a string: " + onTrueObj);
             }
-            //plugin.getLogger().info("[DEBUG] Applied custom true value: " + onTrueObj);
+            //logger.info("[DEBUG] Applied custom true value: " + onTrueObj);
         }
 
         if (onFalseObj != null) {
             if (onFalseObj instanceof String strValue) {
                 builder = builder.onFalse(strValue);
             } else {
-                plugin.getLogger().info("[DEBUG] Couldn't apply custom false value because it is not a string: " + onTrueObj);
+                logger.info("[DEBUG] Couldn't apply custom false value because it is not a string: " + onTrueObj);
             }
-            //plugin.getLogger().info("[DEBUG] Applied custom false value: " + onFalseObj);
+            //logger.info("[DEBUG] Applied custom false value: " + onFalseObj);
         }
 
         return builder.build();
     }
 
     private DialogInput buildNumberRangeInput(String id, Component label, Configuration config) {
-        //plugin.getLogger().info("[DEBUG] Building number_range input");
+        //logger.info("[DEBUG] Building number_range input");
         float min = (float) config.getDouble("min", 0);
         float max = (float) config.getDouble("max", 100);
         float step = (float) config.getDouble("step", 1);
@@ -101,7 +126,7 @@ public class InputBuilder {
         int width = config.getInt("width", 300);
         String labelFormat = config.getString("label_format", null);
 
-        //plugin.getLogger().info("[DEBUG] Number range - min:" + min + ", max:" + max + ", step:" + step + ", initial:" + initial + ", width:" + width);
+        //logger.info("[DEBUG] Number range - min:" + min + ", max:" + max + ", step:" + step + ", initial:" + initial + ", width:" + width);
 
         var builder = DialogInput.numberRange(id, label, min, max)
                 .step(step)
@@ -110,7 +135,7 @@ public class InputBuilder {
 
         if (labelFormat != null && !labelFormat.isBlank()) {
             builder = builder.labelFormat(labelFormat);
-            //plugin.getLogger().info("[DEBUG] Applied label format: " + labelFormat);
+            //logger.info("[DEBUG] Applied label format: " + labelFormat);
         }
 
         return builder.build();
@@ -123,7 +148,7 @@ public class InputBuilder {
         int maxLength = config.getInt("max_length", 0);
         boolean labelVisible = config.getBoolean("label_visible", true);
 
-        //plugin.getLogger().info("[DEBUG] Text - initial:'" + initial + "', width:" + width + ", maxLength:" + maxLength + ", labelVisible:" + labelVisible);
+        //logger.info("[DEBUG] Text - initial:'" + initial + "', width:" + width + ", maxLength:" + maxLength + ", labelVisible:" + labelVisible);
 
         var builder = DialogInput.text(id, label)
                 .initial(initial)
@@ -132,7 +157,7 @@ public class InputBuilder {
 
         if (maxLength > 0) {
             builder = builder.maxLength(maxLength);
-            //plugin.getLogger().info("[DEBUG] Applied max length: " + maxLength);
+            //logger.info("[DEBUG] Applied max length: " + maxLength);
         }
 
         // Handle multiline
@@ -145,17 +170,19 @@ public class InputBuilder {
             int maxLines = multiConfig.getInt("max_lines", 1);
             int maxColumns = multiConfig.getInt("max_columns", 50);
             builder = builder.multiline(TextDialogInput.MultilineOptions.create(maxLines, maxColumns));
-            //plugin.getLogger().info("[DEBUG] Applied multiline - maxLines:" + maxLines + ", maxColumns:" + maxColumns);
+            //logger.info("[DEBUG] Applied multiline - maxLines:" + maxLines + ", maxColumns:" + maxColumns);
         }
 
         return builder.build();
     }
 
     private DialogInput buildSingleOptionInput(String id, Component label, Configuration config) {
-        //plugin.getLogger().info("[DEBUG] Building SingleOption input");
+        //logger.info("[DEBUG] Building SingleOption input");
         int width = config.getInt("width", 300);
         boolean labelVisible = config.getBoolean("label_visible", true);
 
+        String initial = config.getString("initial", null);
+
         List<SingleOptionDialogInput.OptionEntry> entries = new ArrayList<>();
         if (config.contains("entries")) {
             List<?> entryList = config.getList("entries");
@@ -165,11 +192,11 @@ public class InputBuilder {
                         // Convert each string to a proper OptionEntry
                         // The create method needs 3 parameters: id, displayText, isInitiallySelected
                         Component optionText = DialogConfigManager.parseFormattedText(textValue);
-                        entries.add(SingleOptionDialogInput.OptionEntry.create(textValue, optionText, false));
+                        entries.add(SingleOptionDialogInput.OptionEntry.create(textValue, optionText, textValue.equals(initial)));
                     }
                 }
             }
-            //plugin.getLogger().info("[DEBUG] Applied entries: " + entries);
+            //logger.info("[DEBUG] Applied entries: " + entries);
         }
 
         var builder = DialogInput.singleOption(id, label, entries)
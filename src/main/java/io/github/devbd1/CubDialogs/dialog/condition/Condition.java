@@ -0,0 +1,26 @@
+package io.github.devbd1.CubDialogs.dialog.condition;
+
+import org.bukkit.entity.Player;
+
+/**
+ * A compiled condition, e.g. an action step's "if". Placeholder operands are resolved beforehand
+ * in one shared pass; conditions read them from the resolved array by index.
+ */
+@FunctionalInterface
+public interface Condition {
+    Condition ALWAYS = (player, resolved) -> true;
+    Condition NEVER = (player, resolved) -> false;
+
+    /**
+     * @param player   the player the condition is evaluated for
+     * @param resolved placeholder values from the batch the condition was compiled against
+     */
+    boolean test(Player player, String[] resolved);
+
+    /**
+     * @return true if the condition was folded to a constant at compile time
+     */
+    default boolean isConstant() {
+        return this == ALWAYS || this == NEVER;
+    }
+}
@@ -0,0 +1,239 @@
+package io.github.devbd1.CubDialogs.dialog.condition;
+
+import io.github.devbd1.CubDialogs.utilities.PlaceholderBatch;
+import org.bukkit.GameMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles condition specs from dialog files into {@link Condition} trees.
+ *
+ * <pre>
+ * if: "permission:vip.kit"              # permission check, "!..." negates any condition
+ * if: "world:world_nether"              # player's world, also "gamemode:creative"
+ * if: "%player_level% &gt;= 10"            # comparison: == != &gt;= &lt;= &gt; &lt; contains
+ * if:                                   # a list or map: every entry must hold
+ *   permission: "vip.kit"
+ *   world: [ "world", "world_nether" ]  # any of the listed worlds
+ *   gamemode: "survival"
+ *   placeholder: "%vault_eco_balance% &gt;= 100"
+ *   any: [ "permission:a", "permission:b" ]
+ *   not: "permission:banned.shop"
+ * </pre>
+ *
+ * Comparisons are numeric when both sides are numbers, otherwise textual. Parts that do not
+ * depend on the player (comparisons without placeholders) are evaluated while compiling and folded
+ * into {@link Condition#ALWAYS} or {@link Condition#NEVER}, so fully constant conditions cost nothing.
+ */
+public final class ConditionCompiler {
+    private static final Pattern COMPARISON = Pattern.compile("^(.*?)\\s+(==|!=|>=|<=|>|<|contains)\\s+(.*)$");
+
+    private ConditionCompiler() {
+    }
+
+    /**
+     * @param spec  a string, list or map from the dialog file, or null for a condition that always holds
+     * @param batch placeholder batch the operands are added to
+     * @throws IllegalArgumentException if the spec is malformed
+     */
+    public static Condition compile(Object spec, PlaceholderBatch batch) {
+        if (spec == null) {
+            return Condition.ALWAYS;
+        }
+        if (spec instanceof String text) {
+            return compileString(text.trim(), batch);
+        }
+        if (spec instanceof Boolean value) {
+            return value ? Condition.ALWAYS : Condition.NEVER;
+        }
+        if (spec instanceof List<?> list) {
+            List<Condition> parts = new ArrayList<>(list.size());
+            for (Object entry : list) parts.add(compile(entry, batch));
+            return all(parts);
+        }
+        if (spec instanceof Map<?, ?> map) {
+            List<Condition> parts = new ArrayList<>(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                parts.add(compileEntry(String.valueOf(entry.getKey()).toLowerCase(Locale.ROOT), entry.getValue(), batch));
+            }
+            return all(parts);
+        }
+        if (spec instanceof org.bukkit.configuration.ConfigurationSection section) {
+            return compile(section.getValues(false), batch);
+        }
+        throw new IllegalArgumentException("Unsupported condition: " + spec);
+    }
+
+    private static Condition compileEntry(String key, Object value, PlaceholderBatch batch) {
+        return switch (key) {
+            case "permission" -> permission(String.valueOf(value));
+            case "world" -> world(value);
+            case "gamemode", "game_mode" -> gameMode(value);
+            case "placeholder", "compare" -> compileString(String.valueOf(value), batch);
+            case "all" -> compile(value instanceof List<?> ? value : List.of(value), batch);
+            case "any" -> {
+                List<Condition> parts = new ArrayList<>();
+                if (value instanceof List<?> list) {
+                    for (Object entry : list) parts.add(compile(entry, batch));
+                } else {
+                    parts.add(compile(value, batch));
+                }
+                yield any(parts);
+            }
+            case "not" -> not(compile(value, batch));
+            default -> throw new IllegalArgumentException("Unknown condition key: " + key);
+        };
+    }
+
+    private static Condition compileString(String text, PlaceholderBatch batch) {
+        if (text.isEmpty()) {
+            return Condition.ALWAYS;
+        }
+        if (text.startsWith("!")) {
+            return not(compileString(text.substring(1).trim(), batch));
+        }
+        if (text.regionMatches(true, 0, "permission:", 0, 11)) {
+            return permission(text.substring(11).trim());
+        }
+        if (text.regionMatches(true, 0, "world:", 0, 6)) {
+            return world(text.substring(6).trim());
+        }
+        if (text.regionMatches(true, 0, "gamemode:", 0, 9)) {
+            return gameMode(text.substring(9).trim());
+        }
+        if (text.equalsIgnoreCase("true")) {
+            return Condition.ALWAYS;
+        }
+        if (text.equalsIgnoreCase("false")) {
+            return Condition.NEVER;
+        }
+
+        Matcher m = COMPARISON.matcher(text);
+        if (!m.matches()) {
+            throw new IllegalArgumentException("Expected 'permission:<node>', 'world:<name>', 'gamemode:<mode>' or '<left> <operator> <right>': " + text);
+        }
+        String leftText = m.group(1).trim();
+        String rightText = m.group(3).trim();
+        String op = m.group(2);
+        if (!hasPlaceholder(leftText) && !hasPlaceholder(rightText)) {
+            return compare(leftText, op, rightText) ? Condition.ALWAYS : Condition.NEVER;
+        }
+        int left = batch.add(leftText);
+        int right = batch.add(rightText);
+        return (player, resolved) -> compare(resolved[left], op, resolved[right]);
+    }
+
+    static boolean compare(String left, String op, String right) {
+        if (op.equals("contains")) {
+            return left.toLowerCase(Locale.ROOT).contains(right.toLowerCase(Locale.ROOT));
+        }
+        Double l = parseNumber(left);
+        Double r = parseNumber(right);
+        int cmp = l != null && r != null ? Double.compare(l, r) : left.compareTo(right);
+        return switch (op) {
+            case "==" -> l != null && r != null ? cmp == 0 : left.equalsIgnoreCase(right);
+            case "!=" -> l != null && r != null ? cmp != 0 : !left.equalsIgnoreCase(right);
+            case ">=" -> cmp >= 0;
+            case "<=" -> cmp <= 0;
+            case ">" -> cmp > 0;
+            case "<" -> cmp < 0;
+            default -> false;
+        };
+    }
+
+    private static Double parseNumber(String s) {
+        try {
+            return Double.parseDouble(s.replace(",", "").trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean hasPlaceholder(String text) {
+        return text.indexOf('%') >= 0 || text.indexOf('<') >= 0;
+    }
+
+    private static Condition world(Object value) {
+        List<String> names = new ArrayList<>();
+        if (value instanceof List<?> list) {
+            for (Object name : list) names.add(String.valueOf(name));
+        } else {
+            names.add(String.valueOf(value));
+        }
+        if (names.isEmpty() || names.stream().anyMatch(String::isBlank)) {
+            throw new IllegalArgumentException("Empty world in condition");
+        }
+        String[] worlds = names.toArray(new String[0]);
+        return (player, resolved) -> {
+            String current = player.getWorld().getName();
+            for (String world : worlds) {
+                if (world.equalsIgnoreCase(current)) return true;
+            }
+            return false;
+        };
+    }
+
+    private static Condition gameMode(Object value) {
+        java.util.EnumSet<GameMode> modes = java.util.EnumSet.noneOf(GameMode.class);
+        List<?> names = value instanceof List<?> list ? list : List.of(value);
+        for (Object name : names) {
+            try {
+                modes.add(GameMode.valueOf(String.valueOf(name).trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown game mode: " + name);
+            }
+        }
+        if (modes.isEmpty()) {
+            throw new IllegalArgumentException("Empty game mode in condition");
+        }
+        return (player, resolved) -> modes.contains(player.getGameMode());
+    }
+
+    private static Condition permission(String node) {
+        if (node.isBlank()) {
+            throw new IllegalArgumentException("Empty permission in condition");
+        }
+        return (player, resolved) -> player.hasPermission(node);
+    }
+
+    private static Condition not(Condition c) {
+        if (c == Condition.ALWAYS) return Condition.NEVER;
+        if (c == Condition.NEVER) return Condition.ALWAYS;
+        return (player, resolved) -> !c.test(player, resolved);
+    }
+
+    private static Condition all(List<Condition> parts) {
+        // Constant parts decide or drop out
+        if (parts.contains(Condition.NEVER)) return Condition.NEVER;
+        parts = parts.stream().filter(c -> c != Condition.ALWAYS).toList();
+        if (parts.isEmpty()) return Condition.ALWAYS;
+        if (parts.size() == 1) return parts.get(0);
+        Condition[] array = parts.toArray(new Condition[0]);
+        return (player, resolved) -> {
+            for (Condition c : array) {
+                if (!c.test(player, resolved)) return false;
+            }
+            return true;
+        };
+    }
+
+    private static Condition any(List<Condition> parts) {
+        if (parts.isEmpty()) return Condition.ALWAYS;
+        if (parts.contains(Condition.ALWAYS)) return Condition.ALWAYS;
+        parts = parts.stream().filter(c -> c != Condition.NEVER).toList();
+        if (parts.isEmpty()) return Condition.NEVER;
+        if (parts.size() == 1) return parts.get(0);
+        Condition[] array = parts.toArray(new Condition[0]);
+        return (player, resolved) -> {
+            for (Condition c : array) {
+                if (c.test(player, resolved)) return true;
+            }
+            return false;
+        };
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.devbd1.CubDialogs.dialog.condition;
+
+import io.github.devbd1.CubDialogs.utilities.PlaceholderBatch;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The "visible_if" conditions of one dialog file, compiled when the file is loaded.
+ *
+ * Every distinct condition gets a slot. Conditions that fold to a constant are decided once;
+ * the others are evaluated together for a viewer (one placeholder pass) into an outcome vector,
+ * a bit per slot. Builds with the same outcome vector are identical, so callers can key cached
+ * dialogs by it.
+ */
+public final class VisibilityRules {
+    public static final String KEY = "visible_if";
+
+    private final Map<Object, Integer> slots;
+    private final Condition[] conditions;
+    private final PlaceholderBatch batch;
+    private final Configuration root;
+    private final boolean perPlayer;
+
+    private VisibilityRules(Map<Object, Integer> slots, List<Condition> conditions, PlaceholderBatch batch, Configuration root) {
+        this.slots = Map.copyOf(slots);
+        this.conditions = conditions.toArray(new Condition[0]);
+        this.batch = batch;
+        this.root = root;
+        boolean dynamic = false;
+        for (Condition condition : this.conditions) {
+            dynamic |= !condition.isConstant();
+        }
+        this.perPlayer = dynamic;
+    }
+
+    /**
+     * Collects and compiles every "visible_if" in the file (bodies, inputs, buttons at any depth).
+     * Malformed conditions are reported and hide their element.
+     *
+     * @return the rules, or null if the file has no "visible_if"
+     */
+    public static VisibilityRules compile(Configuration root, Consumer<String> warn) {
+        Map<Object, Integer> slots = new HashMap<>();
+        List<Condition> conditions = new ArrayList<>();
+        PlaceholderBatch batch = new PlaceholderBatch();
+        collect(root, slots, conditions, batch, warn);
+        return slots.isEmpty() ? null : new VisibilityRules(slots, conditions, batch, root);
+    }
+
+    private static void collect(Object node, Map<Object, Integer> slots, List<Condition> conditions,
+                                PlaceholderBatch batch, Consumer<String> warn) {
+        if (node instanceof ConfigurationSection section) {
+            node = section.getValues(false);
+        }
+        if (node instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (KEY.equals(String.valueOf(entry.getKey()))) {
+                    Object spec = normalize(entry.getValue());
+                    if (!slots.containsKey(spec)) {
+                        Condition condition;
+                        try {
+                            condition = ConditionCompiler.compile(spec, batch);
+                        } catch (IllegalArgumentException e) {
+                            warn.accept("Invalid " + KEY + " (element hidden): " + e.getMessage());
+                            condition = Condition.NEVER;
+                        }
+                        slots.put(spec, conditions.size());
+                        conditions.add(condition);
+                    }
+                } else {
+                    collect(entry.getValue(), slots, conditions, batch, warn);
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object entry : list) {
+                collect(entry, slots, conditions, batch, warn);
+            }
+        }
+    }
+
+    /**
+     * Sections and maps with the same content compare equal, whichever form a handler passes in.
+     */
+    private static Object normalize(Object value) {
+        if (value instanceof ConfigurationSection section) {
+            value = section.getValues(false);
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                copy.put(String.valueOf(entry.getKey()), normalize(entry.getValue()));
+            }
+            return copy;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object entry : list) copy.add(normalize(entry));
+            return copy;
+        }
+        return value;
+    }
+
+    /**
+     * @return true if some condition depends on the viewer; otherwise every build is the same
+     */
+    public boolean perPlayer() {
+        return perPlayer;
+    }
+
+    /**
+     * Evaluates all viewer-dependent conditions with a single placeholder pass.
+     *
+     * @return outcome vector; bit i is set if slot i holds for the player
+     */
+    public BitSet evaluate(Player player) {
+        String[] resolved = batch.resolve(player, root);
+        BitSet outcome = new BitSet(conditions.length);
+        for (int i = 0; i < conditions.length; i++) {
+            Condition condition = conditions[i];
+            if (!condition.isConstant() && condition.test(player, resolved)) {
+                outcome.set(i);
+            }
+        }
+        return outcome;
+    }
+
+    /**
+     * Decides whether an element (a map or section from this file) is shown.
+     *
+     * @param element  the body, input or button entry
+     * @param outcome  outcome vector of the viewer, or null for a build without viewer, in which
+     *                 viewer-dependent elements are hidden
+     */
+    public boolean isVisible(Object element, BitSet outcome) {
+        Object spec;
+        if (element instanceof ConfigurationSection section) {
+            spec = section.get(KEY);
+        } else if (element instanceof Map<?, ?> map) {
+            spec = map.get(KEY);
+        } else {
+            return true;
+        }
+        if (spec == null) {
+            return true;
+        }
+        Integer slot = slots.get(normalize(spec));
+        if (slot == null) {
+            // Not part of the loaded file (e.g. added by a handler); nothing to decide by
+            return true;
+        }
+        Condition condition = conditions[slot];
+        if (condition.isConstant()) {
+            return condition == Condition.ALWAYS;
+        }
+        return outcome != null && outcome.get(slot);
+    }
+}
@@ -1,31 +1,103 @@
 package io.github.devbd1.CubDialogs.dialog.types;
 
+import io.github.devbd1.CubDialogs.API.Registration;
+import io.github.devbd1.CubDialogs.dialog.DialogConfigManager;
 import io.github.devbd1.CubDialogs.dialog.types.sub.ConfirmationDialogTypeHandler;
+import io.github.devbd1.CubDialogs.dialog.types.sub.DialogListDialogTypeHandler;
 import io.github.devbd1.CubDialogs.dialog.types.sub.MultiActionDialogTypeHandler;
 import io.github.devbd1.CubDialogs.dialog.types.sub.NoticeDialogTypeHandler;
 
-import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Registry of dialog type handlers, keyed by lower-cased type name.
+ * Addons register their own types through CubDialogsAPI; a registration that replaces a built-in
+ * type restores the built-in handler when it is unregistered. Registrations of an addon are
+ * removed when the addon is unloaded.
+ */
 public class TypeRegistrar {
-    private static final Map<String, TypeInterface> handlers = new HashMap<>();
+    private static final Map<String, TypeInterface> handlers = new ConcurrentHashMap<>();
+    private static final Map<String, TypeInterface> builtins = new ConcurrentHashMap<>();
 
     static {
-        registerHandler(new ConfirmationDialogTypeHandler());
-        registerHandler(new MultiActionDialogTypeHandler());
-        registerHandler(new NoticeDialogTypeHandler());
-        // Removed: registerHandler(new DialogListDialogTypeHandler());
+        registerBuiltin(new ConfirmationDialogTypeHandler());
+        registerBuiltin(new MultiActionDialogTypeHandler());
+        registerBuiltin(new NoticeDialogTypeHandler());
+        registerBuiltin(new DialogListDialogTypeHandler());
     }
 
-    public static void registerHandler(TypeInterface handler) {
-        handlers.put(handler.getTypeName().toLowerCase(), handler);
+    private static void registerBuiltin(TypeInterface handler) {
+        String name = handler.getTypeName().toLowerCase(Locale.ROOT);
+        builtins.put(name, handler);
+        handlers.put(name, handler);
     }
 
+    /**
+     * Registers a handler for its type name, replacing any handler registered before.
+     * Loaded dialogs of that type are rebuilt on their next open.
+     *
+     * @return a Registration handle that removes the handler again
+     */
+    public static Registration registerHandler(TypeInterface handler) {
+        Objects.requireNonNull(handler, "handler");
+        String name = Objects.requireNonNull(handler.getTypeName(), "type name").toLowerCase(Locale.ROOT);
+        handlers.put(name, handler);
+        DialogConfigManager.invalidateType(name);
+        return new TypeRegistration(name, handler);
+    }
+
+    /**
+     * Looks up the handler for a type name. Names folded at load time are found without
+     * allocating; others are lower-cased first.
+     */
     public static TypeInterface getHandler(String typeName) {
-        return handlers.get(typeName.toLowerCase());
+        TypeInterface handler = handlers.get(typeName);
+        return handler != null ? handler : handlers.get(typeName.toLowerCase(Locale.ROOT));
     }
 
     public static boolean isSupported(String typeName) {
-        return handlers.containsKey(typeName.toLowerCase());
+        return getHandler(typeName) != null;
+    }
+
+    /**
+     * Removes every handler whose class was loaded by the given class loader, e.g. an unloading addon.
+     *
+     * @return number of handlers removed
+     */
+    public static int unregisterAll(ClassLoader classLoader) {
+        int removed = 0;
+        for (Map.Entry<String, TypeInterface> entry : handlers.entrySet()) {
+            if (entry.getValue().getClass().getClassLoader() == classLoader
+                    && unregister(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private static boolean unregister(String name, TypeInterface handler) {
+        TypeInterface builtin = builtins.get(name);
+        boolean changed = builtin != null && builtin != handler
+                ? handlers.replace(name, handler, builtin)
+                : handlers.remove(name, handler);
+        if (changed) {
+            DialogConfigManager.invalidateType(name);
+        }
+        return changed;
+    }
+
+    private record TypeRegistration(String name, TypeInterface handler) implements Registration {
+        @Override
+        public void unregister() {
+            TypeRegistrar.unregister(name, handler);
+        }
+
+        @Override
+        public boolean isActive() {
+            return handlers.get(name) == handler;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,150 @@
+package io.github.devbd1.CubDialogs.dialog.types.sub;
+
+import io.github.devbd1.CubDialogs.dialog.DialogConfigManager;
+import io.github.devbd1.CubDialogs.dialog.DialogMeta;
+import io.github.devbd1.CubDialogs.dialog.types.TypeInterface;
+import io.papermc.paper.dialog.Dialog;
+import io.papermc.paper.registry.RegistryKey;
+import io.papermc.paper.registry.TypedKey;
+import io.papermc.paper.registry.data.dialog.ActionButton;
+import io.papermc.paper.registry.data.dialog.type.DialogType;
+import io.papermc.paper.registry.keys.DialogKeys;
+import io.papermc.paper.registry.set.RegistrySet;
+import net.kyori.adventure.text.Component;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.github.devbd1.CubDialogs.dialog.DialogConfigManager.buildButton;
+
+/**
+ * Directory of other dialogs, e.g. patch notes, warps or help topics.
+ *
+ * "dialogs" lists exact ids, folders ("warps/") or globs ("patch_notes/*"). When every child is a
+ * static dialog, the native dialog list is sent with registry references only. Otherwise the
+ * children become buttons that build their dialog when clicked, split into pages of "page_size"
+ * with previous/next buttons, so opening the directory never builds its children.
+ */
+@SuppressWarnings("UnstableApiUsage")
+public class DialogListDialogTypeHandler implements TypeInterface {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    // Resolved children per listing dialog, valid for one dialog generation
+    private final Map<String, List<String>> childrenCache = new ConcurrentHashMap<>();
+    private volatile long cacheGeneration = -1;
+
+    @Override
+    public DialogType buildDialogType(ConfigurationSection config) {
+        String selfId = DialogConfigManager.getBuildingDialogId();
+        List<String> children = children(selfId, config);
+
+        int columns = Math.max(1, config.getInt("columns", 2));
+        int buttonWidth = Math.max(1, Math.min(1024, config.getInt("button_width", 150)));
+        ActionButton exitButton = config.isConfigurationSection("exit_button")
+                ? buildButton(config.getConfigurationSection("exit_button"), "Back", "Close this list.", "gray", 150)
+                : null;
+
+        if (DialogConfigManager.isBuildingStatic()) {
+            // Registry entries cannot build lazily; embed the children once at startup
+            List<Dialog> dialogs = new ArrayList<>(children.size());
+            for (String child : children) {
+                Dialog dialog = DialogConfigManager.buildDialog(child);
+                if (dialog != null) dialogs.add(dialog);
+            }
+            return DialogType.dialogList(RegistrySet.valueSet(RegistryKey.DIALOG, dialogs))
+                    .columns(columns).buttonWidth(buttonWidth).exitAction(exitButton).build();
+        }
+
+        if (!children.isEmpty() && children.stream().allMatch(DialogConfigManager::isRegisteredStatic)) {
+            List<TypedKey<Dialog>> keys = new ArrayList<>(children.size());
+            for (String child : children) {
+                keys.add(DialogKeys.create(DialogConfigManager.staticKey(child)));
+            }
+            return DialogType.dialogList(RegistrySet.keySet(RegistryKey.DIALOG, keys))
+                    .columns(columns).buttonWidth(buttonWidth).exitAction(exitButton).build();
+        }
+
+        return pagedButtons(selfId, config, children, columns, buttonWidth, exitButton);
+    }
+
+    private DialogType pagedButtons(String selfId, ConfigurationSection config, List<String> children,
+                                    int columns, int buttonWidth, ActionButton exitButton) {
+        int pageSize = config.getInt("page_size", DEFAULT_PAGE_SIZE);
+        if (pageSize <= 0) pageSize = Math.max(1, children.size());
+        int pages = Math.max(1, (children.size() + pageSize - 1) / pageSize);
+        int page = Math.min(DialogConfigManager.getBuildingPage(), pages - 1);
+
+        List<ActionButton> buttons = new ArrayList<>(pageSize + 2);
+        int from = page * pageSize;
+        int to = Math.min(children.size(), from + pageSize);
+        for (String child : children.subList(from, to)) {
+            DialogMeta meta = DialogConfigManager.getMeta(child);
+            String label = meta != null ? meta.externalTitle() : child;
+            buttons.add(ActionButton.create(
+                    DialogConfigManager.parseFormattedText(label),
+                    null,
+                    buttonWidth,
+                    DialogConfigManager.openDialogAction(child)
+            ));
+        }
+
+        if (buttons.isEmpty()) {
+            buttons.add(ActionButton.create(Component.text("Nothing here yet."), null, buttonWidth, null));
+        }
+
+        if (pages > 1) {
+            if (page > 0) {
+                buttons.add(ActionButton.create(
+                        DialogConfigManager.parseFormattedText(config.getString("previous_text", "« Previous")),
+                        Component.text("Page " + page + " of " + pages),
+                        buttonWidth,
+                        DialogConfigManager.pageAction(selfId, page - 1)
+                ));
+            }
+            if (page < pages - 1) {
+                buttons.add(ActionButton.create(
+                        DialogConfigManager.parseFormattedText(config.getString("next_text", "Next »")),
+                        Component.text("Page " + (page + 2) + " of " + pages),
+                        buttonWidth,
+                        DialogConfigManager.pageAction(selfId, page + 1)
+                ));
+            }
+        }
+
+        return DialogType.multiAction(buttons, exitButton, columns);
+    }
+
+    private List<String> children(String selfId, ConfigurationSection config) {
+        long generation = DialogConfigManager.getGeneration();
+        if (generation != cacheGeneration) {
+            childrenCache.clear();
+            cacheGeneration = generation;
+        }
+
+        List<String> patterns = config.isList("dialogs")
+                ? config.getStringList("dialogs")
+                : List.of(config.getString("dialogs", ""));
+        if (selfId == null) {
+            return filterEnabled(DialogConfigManager.resolveDialogIds(patterns, null));
+        }
+        return childrenCache.computeIfAbsent(selfId,
+                id -> filterEnabled(DialogConfigManager.resolveDialogIds(patterns, id)));
+    }
+
+    private static List<String> filterEnabled(List<String> ids) {
+        List<String> enabled = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            if (DialogConfigManager.isEnabled(id)) enabled.add(id);
+        }
+        return List.copyOf(enabled);
+    }
+
+    @Override
+    public String getTypeName() {
+        return "dialog_list";
+    }
+}
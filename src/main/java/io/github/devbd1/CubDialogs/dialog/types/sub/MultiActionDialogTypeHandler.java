@@ -1,5 +1,6 @@
 package io.github.devbd1.CubDialogs.dialog.types.sub;
 
+import io.github.devbd1.CubDialogs.dialog.DialogConfigManager;
 import io.github.devbd1.CubDialogs.dialog.types.TypeInterface;
 import io.papermc.paper.registry.data.dialog.ActionButton;
 import io.papermc.paper.registry.data.dialog.type.DialogType;
@@ -10,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static io.github.devbd1.CubDialogs.dialog.DialogConfigManager.buildButton;
+import static io.github.devbd1.CubDialogs.dialog.DialogConfigManager.isVisible;
 import static io.github.devbd1.CubDialogs.dialog.DialogConfigManager.namedOrHex;
 
 public class MultiActionDialogTypeHandler implements TypeInterface {
@@ -17,6 +19,10 @@ public class MultiActionDialogTypeHandler implements TypeInterface {
     @Override
     public DialogType buildDialogType(ConfigurationSection config) {
         List<ActionButton> buttons = new ArrayList<>();
+        // Counts configured buttons, including those hidden by "visible_if" for this viewer
+        int configured = 0;
+        // Visible entries (sections or maps); only those on the current page are built
+        List<Object> entries = new ArrayList<>();
 
         if (config != null) {
             ConfigurationSection buttonsSection = config.getConfigurationSection("buttons");
@@ -25,9 +31,8 @@ public class MultiActionDialogTypeHandler implements TypeInterface {
                 for (String buttonKey : buttonsSection.getKeys(false)) {
                     ConfigurationSection buttonConfig = buttonsSection.getConfigurationSection(buttonKey);
                     if (buttonConfig != null) {
-                        ActionButton button = buildButton(buttonConfig,
-                                "Action", "Click to perform action.", "blue", 100);
-                        buttons.add(button);
+                        configured++;
+                        if (isVisible(buttonConfig)) entries.add(buttonConfig);
                     }
                 }
             }
@@ -37,36 +42,54 @@ public class MultiActionDialogTypeHandler implements TypeInterface {
                 if (buttonsList != null) {
                     for (Object buttonData : buttonsList) {
                         if (buttonData instanceof java.util.Map<?, ?> buttonMap) {
-                            // Convert map to temporary configuration section
-                            org.bukkit.configuration.MemoryConfiguration tempConfig = new org.bukkit.configuration.MemoryConfiguration();
-
-                            for (java.util.Map.Entry<?, ?> entry : buttonMap.entrySet()) {
-                                String key = entry.getKey().toString();
-                                Object value = entry.getValue();
-
-                                // Special handling for nested maps (like action)
-                                if (value instanceof java.util.Map<?, ?> nestedMap && key.equals("action")) {
-                                    // Create a nested configuration section for action
-                                    org.bukkit.configuration.MemoryConfiguration actionSection = new org.bukkit.configuration.MemoryConfiguration();
-                                    for (java.util.Map.Entry<?, ?> actionEntry : nestedMap.entrySet()) {
-                                        actionSection.set(actionEntry.getKey().toString(), actionEntry.getValue());
-                                    }
-                                    tempConfig.set(key, actionSection);
-                                } else {
-                                    tempConfig.set(key, value);
-                                }
-                            }
-
-                            ActionButton button = buildButton(tempConfig, "Action", "Click to perform action.", "blue", 100);
-                            buttons.add(button);
+                            configured++;
+                            if (isVisible(buttonMap)) entries.add(buttonMap);
                         }
                     }
                 }
             }
         }
 
+        // With "page_size", split the buttons into pages that are built when navigated to.
+        // Static dialogs cannot call back into the server, so they always show every button.
+        int pageSize = config != null ? config.getInt("page_size", 0) : 0;
+        boolean paged = pageSize > 0 && entries.size() > pageSize && !DialogConfigManager.isBuildingStatic();
+        int pages = paged ? (entries.size() + pageSize - 1) / pageSize : 1;
+        int page = paged ? Math.min(DialogConfigManager.getBuildingPage(), pages - 1) : 0;
+        List<Object> pageEntries = paged
+                ? entries.subList(page * pageSize, Math.min(entries.size(), (page + 1) * pageSize))
+                : entries;
+
+        for (Object entry : pageEntries) {
+            ConfigurationSection buttonConfig = entry instanceof ConfigurationSection section
+                    ? section
+                    : toSection((java.util.Map<?, ?>) entry);
+            buttons.add(buildButton(buttonConfig, "Action", "Click to perform action.", "blue", 100));
+        }
+
+        if (paged) {
+            String selfId = DialogConfigManager.getBuildingDialogId();
+            int navWidth = Math.max(1, Math.min(1024, config.getInt("page_button_width", 150)));
+            if (page > 0) {
+                buttons.add(ActionButton.create(
+                        DialogConfigManager.parseFormattedText(config.getString("previous_text", "« Previous")),
+                        Component.text("Page " + page + " of " + pages),
+                        navWidth,
+                        DialogConfigManager.pageAction(selfId, page - 1)
+                ));
+            }
+            if (page < pages - 1) {
+                buttons.add(ActionButton.create(
+                        DialogConfigManager.parseFormattedText(config.getString("next_text", "Next »")),
+                        Component.text("Page " + (page + 2) + " of " + pages),
+                        navWidth,
+                        DialogConfigManager.pageAction(selfId, page + 1)
+                ));
+            }
+        }
+
         // If no buttons were configured, provide default buttons
-        if (buttons.isEmpty()) {
+        if (configured == 0) {
             ActionButton action1 = ActionButton.create(
                     Component.text("These are", namedOrHex("blue")),
                     Component.text("You should configure buttons in this dialog configuration."),
@@ -90,12 +113,23 @@ public class MultiActionDialogTypeHandler implements TypeInterface {
             buttons.add(cancel);
         }
 
+        // Every button is hidden for this viewer; the client needs at least one
+        if (buttons.isEmpty()) {
+            buttons.add(ActionButton.create(
+                    Component.text(config.getString("empty_text", "Nothing available"), namedOrHex("gray")),
+                    null,
+                    150,
+                    null
+            ));
+        }
+
         // Get columns from config or default to 2
         int columns = config != null ? config.getInt("columns", 2) : 2;
 
         // Get exit action if configured (optional)
         ActionButton exitAction = null;
-        if (config != null && config.isConfigurationSection("exit_button")) {
+        if (config != null && config.isConfigurationSection("exit_button")
+                && isVisible(config.getConfigurationSection("exit_button"))) {
             ConfigurationSection exitActionSection = config.getConfigurationSection("exit_button");
             exitAction = buildButton(exitActionSection, "Action", "Click to perform action.", "blue", 100);
         }
@@ -103,6 +137,29 @@ public class MultiActionDialogTypeHandler implements TypeInterface {
         return DialogType.multiAction(buttons, exitAction, columns);
     }
 
+    private static ConfigurationSection toSection(java.util.Map<?, ?> buttonMap) {
+        // Convert map to temporary configuration section
+        org.bukkit.configuration.MemoryConfiguration tempConfig = new org.bukkit.configuration.MemoryConfiguration();
+
+        for (java.util.Map.Entry<?, ?> entry : buttonMap.entrySet()) {
+            String key = entry.getKey().toString();
+            Object value = entry.getValue();
+
+            // Special handling for nested maps (like action)
+            if (value instanceof java.util.Map<?, ?> nestedMap && key.equals("action")) {
+                // Create a nested configuration section for action
+                org.bukkit.configuration.MemoryConfiguration actionSection = new org.bukkit.configuration.MemoryConfiguration();
+                for (java.util.Map.Entry<?, ?> actionEntry : nestedMap.entrySet()) {
+                    actionSection.set(actionEntry.getKey().toString(), actionEntry.getValue());
+                }
+                tempConfig.set(key, actionSection);
+            } else {
+                tempConfig.set(key, value);
+            }
+        }
+        return tempConfig;
+    }
+
     @Override
     public String getTypeName() {
         return "multi_action";
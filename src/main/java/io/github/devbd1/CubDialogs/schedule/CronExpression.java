@@ -0,0 +1,149 @@
+package io.github.devbd1.CubDialogs.schedule;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Locale;
+
+/**
+ * Five-field cron expression: minute hour day-of-month month day-of-week.
+ * Fields accept *, numbers, ranges (1-5), lists (1,15) and steps (*&#47;15, 0-30/10).
+ * Months and weekdays may be given by name (JAN, MON); Sunday is 0 or 7.
+ * As in standard cron, if both day fields are restricted a day matching either one fires.
+ * Times are evaluated in the server's time zone.
+ */
+public final class CronExpression implements ScheduleTrigger {
+
+    private static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+    private static final String[] DAYS = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+    // Enough steps to find any valid date, including Feb 29 combined with a weekday
+    private static final int MAX_STEPS = 50_000;
+
+    private final String expression;
+    private final ZoneId zone;
+    private final BitSet minutes;
+    private final BitSet hours;
+    private final BitSet daysOfMonth;
+    private final BitSet months;
+    private final BitSet daysOfWeek;
+    private final boolean domRestricted;
+    private final boolean dowRestricted;
+
+    private CronExpression(String expression, ZoneId zone, String[] fields) {
+        this.expression = expression;
+        this.zone = zone;
+        this.minutes = parseField(fields[0], 0, 59, null, 0);
+        this.hours = parseField(fields[1], 0, 23, null, 0);
+        this.daysOfMonth = parseField(fields[2], 1, 31, null, 0);
+        this.months = parseField(fields[3], 1, 12, MONTHS, 1);
+        BitSet dow = parseField(fields[4], 0, 7, DAYS, 0);
+        if (dow.get(7)) dow.set(0);
+        this.daysOfWeek = dow;
+        this.domRestricted = !fields[2].equals("*");
+        this.dowRestricted = !fields[4].equals("*");
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public static CronExpression parse(String expression) {
+        return parse(expression, ZoneId.systemDefault());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public static CronExpression parse(String expression, ZoneId zone) {
+        String[] fields = expression == null ? new String[0] : expression.trim().split("\\s+");
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Cron expression needs 5 fields (minute hour day month weekday): " + expression);
+        }
+        return new CronExpression(expression.trim(), zone, fields);
+    }
+
+    @Override
+    public long nextAfter(long afterMillis) {
+        ZonedDateTime t = Instant.ofEpochMilli(afterMillis).atZone(zone)
+                .truncatedTo(ChronoUnit.MINUTES)
+                .plusMinutes(1);
+
+        // Skip whole months, days and hours that cannot match instead of stepping minute by minute
+        for (int step = 0; step < MAX_STEPS; step++) {
+            if (!months.get(t.getMonthValue())) {
+                t = t.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS).plusMonths(1);
+            } else if (!dayMatches(t)) {
+                t = t.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+            } else if (!hours.get(t.getHour())) {
+                t = t.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            } else if (!minutes.get(t.getMinute())) {
+                t = t.plusMinutes(1);
+            } else {
+                return t.toInstant().toEpochMilli();
+            }
+        }
+        return -1;
+    }
+
+    private boolean dayMatches(ZonedDateTime t) {
+        boolean dom = daysOfMonth.get(t.getDayOfMonth());
+        boolean dow = daysOfWeek.get(t.getDayOfWeek().getValue() % 7);
+        if (domRestricted && dowRestricted) {
+            return dom || dow;
+        }
+        return dom && dow;
+    }
+
+    private static BitSet parseField(String field, int min, int max, String[] names, int nameOffset) {
+        BitSet bits = new BitSet(max + 1);
+        for (String part : field.split(",")) {
+            int step = 1;
+            String range = part;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = Integer.parseInt(part.substring(slash + 1));
+                range = part.substring(0, slash);
+                if (step <= 0) throw new IllegalArgumentException("Invalid step in cron field: " + field);
+            }
+
+            int from;
+            int to;
+            if (range.equals("*")) {
+                from = min;
+                to = max;
+            } else {
+                int dash = range.indexOf('-');
+                from = value(dash >= 0 ? range.substring(0, dash) : range, names, nameOffset);
+                to = dash >= 0 ? value(range.substring(dash + 1), names, nameOffset) : (slash >= 0 ? max : from);
+            }
+
+            if (from < min || to > max || from > to) {
+                throw new IllegalArgumentException("Cron field out of range (" + min + "-" + max + "): " + field);
+            }
+            for (int v = from; v <= to; v += step) {
+                bits.set(v);
+            }
+        }
+        return bits;
+    }
+
+    private static int value(String token, String[] names, int nameOffset) {
+        if (names != null) {
+            String upper = token.toUpperCase(Locale.ROOT);
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(upper)) return i + nameOffset;
+            }
+        }
+        try {
+            return Integer.parseInt(token);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cron value: " + token);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -0,0 +1,168 @@
+package io.github.devbd1.CubDialogs.schedule;
+
+import io.github.devbd1.CubDialogs.API.DialogOpener;
+import io.github.devbd1.CubDialogs.dialog.DialogConfigManager;
+import io.github.devbd1.CubDialogs.storage.ScheduleRunStore;
+import io.github.devbd1.CubDialogs.utilities.TargetSelector;
+import io.github.devbd1.CubDialogs.utilities.TimerWheel;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opens dialogs on the schedules defined in the "schedules" section of config.yml.
+ *
+ * Due jobs sit in a {@link TimerWheel} that is advanced once per second. Delivery goes through the
+ * bulk {@link DialogOpener}, so a broadcast to many players is spread over several ticks.
+ * Each run is recorded before it is delivered, which keeps a restart from firing it again.
+ */
+public final class DialogScheduler {
+
+    private static final int WHEEL_SLOTS = 512;
+    private static final long WHEEL_TICK_MILLIS = 1000;
+
+    private final JavaPlugin plugin;
+    private final DialogOpener opener;
+    private final ScheduleRunStore runs;
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+    private TimerWheel<Job> wheel;
+    private BukkitTask task;
+
+    private static final class Job {
+        final String id;
+        final String dialogId;
+        final String targets;
+        final ScheduleTrigger trigger;
+        long due;
+
+        Job(String id, String dialogId, String targets, ScheduleTrigger trigger) {
+            this.id = id;
+            this.dialogId = dialogId;
+            this.targets = targets;
+            this.trigger = trigger;
+        }
+    }
+
+    public DialogScheduler(JavaPlugin plugin, DialogOpener opener, ScheduleRunStore runs) {
+        this.plugin = plugin;
+        this.opener = opener;
+        this.runs = runs;
+    }
+
+    /**
+     * (Re)loads all schedules from the given section and starts the timer. Must run on the server thread.
+     *
+     * @return number of active schedules
+     */
+    public int load(ConfigurationSection section) {
+        stop();
+        long now = System.currentTimeMillis();
+        wheel = new TimerWheel<>(WHEEL_SLOTS, WHEEL_TICK_MILLIS, now);
+
+        if (section != null) {
+            for (String id : section.getKeys(false)) {
+                ConfigurationSection sec = section.getConfigurationSection(id);
+                if (sec == null) continue;
+                if (!sec.getBoolean("enabled", true)) continue;
+
+                String dialogId = sec.getString("dialog");
+                if (dialogId == null || dialogId.isBlank()) {
+                    plugin.getLogger().warning("Schedule '" + id + "' has no dialog, skipping");
+                    continue;
+                }
+
+                ScheduleTrigger trigger;
+                try {
+                    trigger = ScheduleTrigger.fromConfig(sec);
+                } catch (IllegalArgumentException e) {
+                    plugin.getLogger().warning("Schedule '" + id + "' is invalid: " + e.getMessage());
+                    continue;
+                }
+
+                Job job = new Job(id, dialogId, sec.getString("targets", "@a"), trigger);
+                long due = firstDue(job, sec.getBoolean("catch_up", false), now);
+                if (due < 0) {
+                    plugin.getLogger().warning("Schedule '" + id + "' never fires, skipping");
+                    continue;
+                }
+                job.due = due;
+                jobs.put(id, job);
+                wheel.schedule(job, due);
+            }
+        }
+
+        if (!jobs.isEmpty()) {
+            task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 20L, 20L);
+        }
+        return jobs.size();
+    }
+
+    /**
+     * Stops the timer and forgets all schedules. Recorded runs are kept.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (wheel != null) {
+            wheel.clear();
+        }
+        jobs.clear();
+    }
+
+    private long firstDue(Job job, boolean catchUp, long now) {
+        long last = runs.lastRun(job.id);
+        if (last <= 0) {
+            return job.trigger.nextAfter(now);
+        }
+
+        long next = job.trigger.nextAfter(last);
+        if (next >= 0 && next <= now) {
+            // Missed while the server was down: run once now, or wait for the next regular time
+            return catchUp ? now : job.trigger.nextAfter(now);
+        }
+        return next;
+    }
+
+    private void tick() {
+        wheel.advance(System.currentTimeMillis(), this::fire);
+    }
+
+    private void fire(Job job) {
+        if (jobs.get(job.id) != job) {
+            return;
+        }
+
+        // Persist first so a crash during delivery does not repeat the run after restart
+        runs.record(job.id, job.due);
+        deliver(job);
+
+        long next = job.trigger.nextAfter(Math.max(job.due, System.currentTimeMillis()));
+        if (next < 0) {
+            jobs.remove(job.id);
+            return;
+        }
+        job.due = next;
+        wheel.schedule(job, next);
+    }
+
+    private void deliver(Job job) {
+        if (!DialogConfigManager.hasDialog(job.dialogId)) {
+            plugin.getLogger().warning("Schedule '" + job.id + "' refers to unknown dialog: " + job.dialogId);
+            return;
+        }
+        if (!DialogConfigManager.isEnabled(job.dialogId)) {
+            return;
+        }
+
+        try {
+            opener.open(job.dialogId, TargetSelector.resolve(job.targets), Map.of("schedule", job.id));
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Schedule '" + job.id + "' could not open " + job.dialogId + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.devbd1.CubDialogs.schedule;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Computes when a scheduled dialog fires next.
+ */
+@FunctionalInterface
+public interface ScheduleTrigger {
+
+    /**
+     * @param afterMillis epoch milliseconds
+     * @return the first fire time strictly after the given time, or -1 if there is none
+     */
+    long nextAfter(long afterMillis);
+
+    /**
+     * Fires at a fixed interval.
+     */
+    static ScheduleTrigger every(long intervalMillis) {
+        if (intervalMillis < 1000) {
+            throw new IllegalArgumentException("Interval must be at least one second");
+        }
+        return after -> after + intervalMillis;
+    }
+
+    /**
+     * Reads the trigger of a schedule entry: "every", "at" or "cron".
+     *
+     * @throws IllegalArgumentException if none or an invalid one is given
+     */
+    static ScheduleTrigger fromConfig(ConfigurationSection sec) {
+        if (sec.isSet("every")) {
+            return every(parseDuration(sec.getString("every", "")));
+        }
+
+        if (sec.isSet("at")) {
+            // Daily times are shorthand for cron expressions
+            List<String> times = sec.isList("at") ? sec.getStringList("at") : List.of(sec.getString("at", ""));
+            List<CronExpression> crons = new ArrayList<>(times.size());
+            for (String time : times) {
+                String[] parts = time.trim().split(":");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Invalid time '" + time + "', expected HH:mm");
+                }
+                crons.add(CronExpression.parse(Integer.parseInt(parts[1]) + " " + Integer.parseInt(parts[0]) + " * * *"));
+            }
+            return after -> {
+                long next = -1;
+                for (CronExpression cron : crons) {
+                    long candidate = cron.nextAfter(after);
+                    if (candidate >= 0 && (next < 0 || candidate < next)) next = candidate;
+                }
+                return next;
+            };
+        }
+
+        if (sec.isSet("cron")) {
+            return CronExpression.parse(sec.getString("cron", ""));
+        }
+
+        throw new IllegalArgumentException("Missing 'every', 'at' or 'cron'");
+    }
+
+    /**
+     * Parses durations such as 90s, 30m, 6h, 1d or 2w.
+     */
+    static long parseDuration(String value) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        if (!v.matches("\\d+[smhdw]")) {
+            throw new IllegalArgumentException("Invalid duration '" + value + "', use e.g. 30m, 6h or 1d");
+        }
+        long amount = Long.parseLong(v.substring(0, v.length() - 1));
+        return amount * switch (v.charAt(v.length() - 1)) {
+            case 's' -> 1000L;
+            case 'm' -> 60_000L;
+            case 'h' -> 3_600_000L;
+            case 'd' -> 86_400_000L;
+            default -> 604_800_000L;
+        };
+    }
+}
@@ -1,25 +1,52 @@
 package io.github.devbd1.CubDialogs.serverLinks;
 
+import io.github.devbd1.CubDialogs.dialog.DialogConfigManager;
 import io.github.devbd1.CubDialogs.utilities.ColorManager;
 import io.github.devbd1.CubDialogs.utilities.ConfigManager;
+import io.papermc.paper.dialog.Dialog;
+import io.papermc.paper.registry.data.dialog.ActionButton;
+import io.papermc.paper.registry.data.dialog.DialogBase;
+import io.papermc.paper.registry.data.dialog.action.DialogAction;
+import io.papermc.paper.registry.data.dialog.type.DialogType;
+import net.kyori.adventure.text.event.ClickEvent;
 import org.bukkit.Bukkit;
 import org.bukkit.ServerLinks;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.plugin.java.JavaPlugin;
 import net.kyori.adventure.text.Component;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.logging.Level;
 
 /**
  * Example class demonstrating how to manage server links in PaperMC 1.21+
  * This feature allows servers to display links in the multiplayer menu
  */
-@SuppressWarnings("deprecation")
+@SuppressWarnings({"deprecation", "UnstableApiUsage"})
 public class ServerLinksManager {
 
+    /**
+     * Id of the dialog generated from the configured links.
+     */
+    public static final String DIALOG_ID = "server_links";
+
     private final JavaPlugin plugin;
     private static ServerLinksManager instance;
 
+    // Links added by the last setup, removed again before a reload re-adds them
+    private final List<ServerLinks.ServerLink> addedLinks = new ArrayList<>();
+    // Links parsed by the last setup, in config order
+    private final List<ParsedLink> parsedLinks = new ArrayList<>();
+
+    /**
+     * A configured link as shown in the generated dialog.
+     */
+    private record ParsedLink(Component label, URI url) {
+    }
+
     public ServerLinksManager(JavaPlugin plugin) {
         this.plugin = plugin;
         instance = this;
@@ -32,6 +59,11 @@ public class ServerLinksManager {
 
         ServerLinks serverLinks = Bukkit.getServer().getServerLinks();
 
+        // Drop what the previous setup added so a reload does not duplicate links
+        addedLinks.forEach(serverLinks::removeLink);
+        addedLinks.clear();
+        parsedLinks.clear();
+
         try {
             // Add typed links (these use predefined ServerLinks.Type enum values)
             addTypedLinks(serverLinks);
@@ -44,6 +76,56 @@ public class ServerLinksManager {
         } catch (URISyntaxException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to configure server links due to invalid URI", e);
         }
+
+        // Compile the server_links dialog from the same links
+        publishDialog();
+    }
+
+    /**
+     * Compiles the links parsed above into the "server_links" dialog, once per config load.
+     * Configured by the "serverLinksDialog" section; a dialogs/server_links.yml file replaces it.
+     */
+    private void publishDialog() {
+        ConfigurationSection sec = ConfigManager.getConfig().getConfigurationSection("serverLinksDialog");
+        boolean enabled = sec == null || sec.getBoolean("enabled", true);
+        if (!enabled || parsedLinks.isEmpty()) {
+            DialogConfigManager.removeGeneratedDialog(DIALOG_ID);
+            return;
+        }
+
+        String titleText = sec != null ? sec.getString("title") : null;
+        Component title = titleText != null && !titleText.isBlank()
+                ? DialogConfigManager.parseFormattedText(ColorManager.applyColorFormatting(titleText))
+                : Component.translatable("menu.server_links.title");
+        int columns = sec != null ? Math.max(1, sec.getInt("columns", 2)) : 2;
+        int buttonWidth = sec != null ? Math.max(1, Math.min(1024, sec.getInt("button_width", 150))) : 150;
+
+        List<ActionButton> buttons = new ArrayList<>(parsedLinks.size());
+        for (ParsedLink link : parsedLinks) {
+            buttons.add(ActionButton.create(
+                    link.label(),
+                    Component.text(link.url().toString()),
+                    buttonWidth,
+                    DialogAction.staticAction(ClickEvent.openUrl(link.url().toString()))
+            ));
+        }
+        ActionButton exitButton = ActionButton.create(Component.translatable("gui.back"), null, buttonWidth, null);
+
+        DialogBase base = DialogBase.builder(title)
+                .externalTitle(title)
+                .canCloseWithEscape(true)
+                .build();
+        Dialog dialog = Dialog.create(b -> b.empty()
+                .base(base)
+                .type(DialogType.multiAction(buttons, exitButton, columns)));
+
+        DialogConfigManager.putGeneratedDialog(
+                DIALOG_ID,
+                titleText != null ? titleText : "Server Links",
+                sec != null ? sec.getString("permission_to_open") : null,
+                dialog
+        );
+        plugin.getLogger().info("Generated " + DIALOG_ID + " dialog with " + buttons.size() + " link(s)");
     }
 
     /**
@@ -90,7 +172,13 @@ public class ServerLinksManager {
 
                 if (url != null && !url.isEmpty()) {
                     try {
-                        serverLinks.setLink(type, new URI(url));
+                        URI uri = new URI(url);
+                        addedLinks.add(serverLinks.setLink(type, uri));
+                        // The client translates typed links itself; the dialog uses the same keys
+                        parsedLinks.add(new ParsedLink(
+                                Component.translatable("known_server_link." + type.name().toLowerCase(Locale.ROOT)),
+                                uri
+                        ));
                         plugin.getLogger().info("Added " + type.name() + " link: " + url);
                     } catch (URISyntaxException e) {
                         plugin.getLogger().warning("Invalid URL for " + type.name() + ": " + url);
@@ -144,7 +232,9 @@ public class ServerLinksManager {
                             .legacySection()
                             .deserialize(coloredLabel);
 
-                    serverLinks.addLink(linkText, new URI(url));
+                    URI uri = new URI(url);
+                    addedLinks.add(serverLinks.addLink(linkText, uri));
+                    parsedLinks.add(new ParsedLink(linkText, uri));
                     plugin.getLogger().info("Added custom link " + linkKey + ": " + url + " (" + label + ")");
 
                 } catch (URISyntaxException e) {
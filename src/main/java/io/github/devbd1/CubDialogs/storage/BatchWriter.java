@@ -0,0 +1,239 @@
+package io.github.devbd1.CubDialogs.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single background thread that drains a bounded queue and hands records to a sink in batches.
+ * Producers never do file I/O themselves; when the queue is full they wait briefly (backpressure)
+ * and the record is dropped if space does not free up in time.
+ *
+ * Tasks submitted with {@link #submit(Runnable)} run on the writer thread in order with the
+ * records around them, which makes it the place for loads, compaction and rotation.
+ *
+ * @param <T> record type
+ */
+public class BatchWriter<T> {
+
+    /**
+     * Receives batches of records on the writer thread.
+     */
+    public interface Sink<T> {
+        /**
+         * Writes a batch. Called only from the writer thread.
+         */
+        void write(List<T> batch) throws Exception;
+
+        /**
+         * Called on the writer thread when no record arrived for the idle interval.
+         */
+        default void onIdle() throws Exception {
+        }
+
+        /**
+         * Called once on the writer thread after the last batch, before the thread exits.
+         */
+        default void close() throws Exception {
+        }
+    }
+
+    private static final Object POISON = new Object();
+
+    private final String name;
+    private final Logger logger;
+    private final Sink<T> sink;
+    private final BlockingQueue<Object> queue;
+    private final int maxBatch;
+    private final long offerTimeoutMillis;
+    private final long idleMillis;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    /**
+     * @param name               thread name
+     * @param logger             logger for write failures and dropped records
+     * @param capacity           maximum number of queued records and tasks
+     * @param maxBatch           maximum number of records handed to the sink at once
+     * @param offerTimeoutMillis how long a producer may wait for queue space before dropping
+     * @param idleMillis         interval after which {@link Sink#onIdle()} is called when nothing arrives
+     * @param sink               destination of the records
+     */
+    public BatchWriter(String name, Logger logger, int capacity, int maxBatch,
+                       long offerTimeoutMillis, long idleMillis, Sink<T> sink) {
+        this.name = name;
+        this.logger = logger;
+        this.sink = sink;
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, capacity));
+        this.maxBatch = Math.max(1, maxBatch);
+        this.offerTimeoutMillis = Math.max(0, offerTimeoutMillis);
+        this.idleMillis = Math.max(50, idleMillis);
+        this.thread = new Thread(this::run, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues a record for writing.
+     *
+     * @return false if the writer is closed or the queue stayed full past the offer timeout
+     */
+    public boolean offer(T record) {
+        if (closed || record == null) {
+            return false;
+        }
+        try {
+            if (queue.offer(record) || queue.offer(record, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        long total = dropped.incrementAndGet();
+        // Log the first drop and then every 1000th to avoid flooding the console
+        if (total == 1 || total % 1000 == 0) {
+            logger.warning("[" + name + "] Write queue is full, dropped " + total + " record(s) so far");
+        }
+        return false;
+    }
+
+    /**
+     * Runs a task on the writer thread after every record queued before it.
+     * Blocks while the queue is full.
+     */
+    public void submit(Runnable task) {
+        if (closed) {
+            return;
+        }
+        try {
+            queue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until every record queued so far has been handed to the sink.
+     *
+     * @return true if the flush completed within the timeout
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        if (closed || Thread.currentThread() == thread) {
+            return false;
+        }
+        CountDownLatch latch = new CountDownLatch(1);
+        submit(latch::countDown);
+        try {
+            return latch.await(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Writes everything still queued, closes the sink and stops the writer thread.
+     */
+    public void close(long timeout, TimeUnit unit) {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(POISON);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            thread.join(unit.toMillis(timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            logger.warning("[" + name + "] Writer did not finish within " + timeout + " " + unit + "; some records may be lost");
+        }
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public int queuedCount() {
+        return queue.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void run() {
+        List<Object> drained = new ArrayList<>(maxBatch);
+        List<T> batch = new ArrayList<>(maxBatch);
+        boolean running = true;
+
+        while (running) {
+            Object first;
+            try {
+                first = queue.poll(idleMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            if (first == null) {
+                safely(sink::onIdle);
+                continue;
+            }
+
+            drained.add(first);
+            queue.drainTo(drained, maxBatch - 1);
+
+            for (Object item : drained) {
+                if (item == POISON) {
+                    running = false;
+                    break;
+                }
+                if (item instanceof Runnable task) {
+                    // Keep ordering: everything queued before the task is written first
+                    writeBatch(batch);
+                    safely(task::run);
+                } else {
+                    batch.add((T) item);
+                }
+            }
+            writeBatch(batch);
+            drained.clear();
+        }
+
+        safely(sink::close);
+    }
+
+    private void writeBatch(List<T> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            sink.write(batch);
+        } catch (Exception e) {
+            // Sinks that must not lose records handle their own failures; this is the last resort
+            logger.log(Level.SEVERE, "[" + name + "] Background write failed, " + batch.size() + " record(s) lost", e);
+        }
+        batch.clear();
+    }
+
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    private void safely(Action action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "[" + name + "] Background write failed", e);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package io.github.devbd1.CubDialogs.storage;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Stores partially filled dialog forms per player and dialog.
+ *
+ * Drafts are kept in memory for lookups on the server thread; changes are appended to a local
+ * log file by a background {@link BatchWriter} and the log is periodically compacted. The log is
+ * read once, asynchronously, when the store starts, so opening a dialog never touches the disk.
+ */
+public class DraftStore {
+    private static final long COMPACT_CHECK_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * Saved input values of one dialog, keyed by input id.
+     */
+    public record Draft(Map<String, String> values, long savedAt) {
+    }
+
+    private record Change(UUID playerId, String dialogId, Draft draft) {
+        // draft == null marks a deletion
+    }
+
+    private final Logger logger;
+    private final Path file;
+    private final Path tempFile;
+    private final long maxAgeMillis;
+    private final int compactMinLines;
+    private final Map<UUID, Map<String, Draft>> drafts = new ConcurrentHashMap<>();
+    private final Set<String> touchedBeforeLoad = ConcurrentHashMap.newKeySet();
+    private final BatchWriter<Change> writer;
+    private volatile boolean loaded;
+
+    // Writer-thread state
+    private BufferedWriter out;
+    private long logLines;
+    private long lastCompactCheck;
+
+    /**
+     * @param folder          directory holding the draft log
+     * @param logger          plugin logger
+     * @param maxAgeMillis    drafts older than this are discarded on load and compaction (0 keeps forever)
+     * @param compactMinLines the log is only compacted once it has at least this many lines
+     */
+    public DraftStore(Path folder, Logger logger, long maxAgeMillis, int compactMinLines) {
+        this.logger = logger;
+        this.file = folder.resolve("drafts.log");
+        this.tempFile = folder.resolve("drafts.log.tmp");
+        this.maxAgeMillis = maxAgeMillis;
+        this.compactMinLines = Math.max(100, compactMinLines);
+        this.writer = new BatchWriter<>("CubDialogs-Drafts", logger, 4096, 256, 5, 1000, new Sink());
+        this.writer.submit(this::load);
+    }
+
+    /**
+     * Returns the saved values for the player and dialog, or an empty map if there is no draft
+     * (or the log has not finished loading yet). Never blocks on disk.
+     */
+    public Map<String, String> get(UUID playerId, String dialogId) {
+        Map<String, Draft> perPlayer = drafts.get(playerId);
+        if (perPlayer == null) {
+            return Collections.emptyMap();
+        }
+        Draft draft = perPlayer.get(dialogId);
+        if (draft == null) {
+            return Collections.emptyMap();
+        }
+        if (isExpired(draft, System.currentTimeMillis())) {
+            clear(playerId, dialogId);
+            return Collections.emptyMap();
+        }
+        return draft.values();
+    }
+
+    /**
+     * Saves the values as the player's draft for the dialog. Empty values clear the draft.
+     */
+    public void save(UUID playerId, String dialogId, Map<String, String> values) {
+        if (values == null || values.isEmpty()) {
+            clear(playerId, dialogId);
+            return;
+        }
+        Draft draft = new Draft(Collections.unmodifiableMap(new LinkedHashMap<>(values)), System.currentTimeMillis());
+        Draft previous = drafts.computeIfAbsent(playerId, id -> new ConcurrentHashMap<>()).put(dialogId, draft);
+        if (previous != null && previous.values().equals(draft.values())) {
+            return; // nothing changed, skip the write
+        }
+        markTouched(playerId, dialogId);
+        writer.offer(new Change(playerId, dialogId, draft));
+    }
+
+    /**
+     * Removes the player's draft for the dialog, e.g. after a successful submission.
+     */
+    public void clear(UUID playerId, String dialogId) {
+        Map<String, Draft> perPlayer = drafts.get(playerId);
+        if (perPlayer == null || perPlayer.remove(dialogId) == null) {
+            return;
+        }
+        markTouched(playerId, dialogId);
+        writer.offer(new Change(playerId, dialogId, null));
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Flushes pending changes and stops the background writer.
+     */
+    public void close() {
+        writer.close(10, TimeUnit.SECONDS);
+    }
+
+    private void markTouched(UUID playerId, String dialogId) {
+        if (!loaded) {
+            touchedBeforeLoad.add(playerId + "/" + dialogId);
+        }
+    }
+
+    private boolean isExpired(Draft draft, long now) {
+        return maxAgeMillis > 0 && now - draft.savedAt() > maxAgeMillis;
+    }
+
+    // ─── Writer thread ───────────────────────────────────────────────────────
+
+    private void load() {
+        Map<UUID, Map<String, Draft>> fromDisk = new HashMap<>();
+        long lines = 0;
+        long now = System.currentTimeMillis();
+
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) continue;
+                    lines++;
+                    try {
+                        applyLine(fromDisk, JsonParser.parseString(line).getAsJsonObject());
+                    } catch (RuntimeException e) {
+                        logger.fine("Skipping malformed draft line " + lines);
+                    }
+                }
+            } catch (IOException e) {
+                logger.warning("Failed to read drafts from " + file + ": " + e.getMessage());
+            }
+        }
+
+        int restored = 0;
+        for (Map.Entry<UUID, Map<String, Draft>> player : fromDisk.entrySet()) {
+            for (Map.Entry<String, Draft> entry : player.getValue().entrySet()) {
+                if (isExpired(entry.getValue(), now)) continue;
+                if (touchedBeforeLoad.contains(player.getKey() + "/" + entry.getKey())) continue;
+                drafts.computeIfAbsent(player.getKey(), id -> new ConcurrentHashMap<>())
+                        .putIfAbsent(entry.getKey(), entry.getValue());
+                restored++;
+            }
+        }
+
+        logLines = lines;
+        loaded = true;
+        touchedBeforeLoad.clear();
+        if (restored > 0) {
+            logger.info("Restored " + restored + " dialog draft(s)");
+        }
+    }
+
+    private static void applyLine(Map<UUID, Map<String, Draft>> target, JsonObject json) {
+        UUID playerId = UUID.fromString(json.get("p").getAsString());
+        String dialogId = json.get("d").getAsString();
+
+        if (json.has("del")) {
+            Map<String, Draft> perPlayer = target.get(playerId);
+            if (perPlayer != null) perPlayer.remove(dialogId);
+            return;
+        }
+
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> value : json.getAsJsonObject("v").entrySet()) {
+            values.put(value.getKey(), value.getValue().getAsString());
+        }
+        target.computeIfAbsent(playerId, id -> new HashMap<>())
+                .put(dialogId, new Draft(Collections.unmodifiableMap(values), json.get("t").getAsLong()));
+    }
+
+    private static String toLine(UUID playerId, String dialogId, Draft draft) {
+        JsonObject json = new JsonObject();
+        json.addProperty("p", playerId.toString());
+        json.addProperty("d", dialogId);
+        if (draft == null) {
+            json.addProperty("t", System.currentTimeMillis());
+            json.addProperty("del", true);
+        } else {
+            json.addProperty("t", draft.savedAt());
+            JsonObject values = new JsonObject();
+            draft.values().forEach(values::addProperty);
+            json.add("v", values);
+        }
+        return json.toString();
+    }
+
+    private BufferedWriter writer() throws IOException {
+        if (out == null) {
+            Files.createDirectories(file.getParent());
+            out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        return out;
+    }
+
+    private void compactIfNeeded(boolean force) throws IOException {
+        long live = 0;
+        for (Map<String, Draft> perPlayer : drafts.values()) {
+            live += perPlayer.size();
+        }
+        // Regular checks wait for the log to double; the periodic pass compacts any garbage
+        if (logLines < compactMinLines || logLines <= (force ? live : live * 2)) {
+            return;
+        }
+
+        // Rewrite only live drafts, then atomically swap the log
+        long now = System.currentTimeMillis();
+        long written = 0;
+        try (BufferedWriter tmp = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            for (Map.Entry<UUID, Map<String, Draft>> player : drafts.entrySet()) {
+                for (Map.Entry<String, Draft> entry : player.getValue().entrySet()) {
+                    if (isExpired(entry.getValue(), now)) continue;
+                    tmp.write(toLine(player.getKey(), entry.getKey(), entry.getValue()));
+                    tmp.newLine();
+                    written++;
+                }
+            }
+        }
+
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.fine("Compacted draft log from " + logLines + " to " + written + " lines");
+        logLines = written;
+    }
+
+    private class Sink implements BatchWriter.Sink<Change> {
+        @Override
+        public void write(List<Change> batch) throws IOException {
+            BufferedWriter w = writer();
+            for (Change change : batch) {
+                w.write(toLine(change.playerId(), change.dialogId(), change.draft()));
+                w.newLine();
+            }
+            w.flush();
+            logLines += batch.size();
+            compactIfNeeded(false);
+        }
+
+        @Override
+        public void onIdle() throws IOException {
+            long now = System.currentTimeMillis();
+            if (now - lastCompactCheck < COMPACT_CHECK_INTERVAL_MILLIS) {
+                return;
+            }
+            lastCompactCheck = now;
+            // Periodic pass also drops expired drafts from the log
+            compactIfNeeded(true);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+        }
+    }
+}
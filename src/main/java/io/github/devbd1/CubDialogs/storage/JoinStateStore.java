@@ -0,0 +1,220 @@
+package io.github.devbd1.CubDialogs.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Per-player record of which dialog versions a player has seen and accepted, used by join triggers.
+ *
+ * State lives in one small binary file per player and is read off the main thread, usually at
+ * pre-login, so the join itself only reads memory. Changes are written by a background {@link BatchWriter}; after
+ * a player quits, their state is evicted once it has been written.
+ */
+public final class JoinStateStore {
+
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Seen and accepted version per dialog, packed into one long (seen in the high half).
+     */
+    public static final class PlayerState {
+        private final Map<String, Long> versions;
+        private volatile boolean online;
+        // Set if the file on disk could not be read and is still in place; it must not be overwritten
+        private volatile boolean readOnly;
+
+        private PlayerState(Map<String, Long> versions) {
+            this.versions = versions;
+        }
+
+        public synchronized int seenVersion(String dialogId) {
+            Long packed = versions.get(dialogId);
+            return packed == null ? 0 : (int) (packed >>> 32);
+        }
+
+        public synchronized int acceptedVersion(String dialogId) {
+            Long packed = versions.get(dialogId);
+            return packed == null ? 0 : (int) (long) packed;
+        }
+
+        private synchronized boolean update(String dialogId, int seen, int accepted) {
+            long packed = ((long) seen << 32) | (accepted & 0xFFFFFFFFL);
+            Long previous = versions.put(dialogId, packed);
+            return previous == null || previous != packed;
+        }
+
+        private synchronized Map<String, Long> snapshot() {
+            return new HashMap<>(versions);
+        }
+    }
+
+    private final Logger logger;
+    private final Path folder;
+    private final Map<UUID, PlayerState> states = new ConcurrentHashMap<>();
+    private final BatchWriter<UUID> writer;
+
+    /**
+     * @param folder directory holding one file per player
+     * @param logger plugin logger
+     */
+    public JoinStateStore(Path folder, Logger logger) {
+        this.logger = logger;
+        this.folder = folder;
+        this.writer = new BatchWriter<>("CubDialogs-JoinState", logger, 4096, 256, 5, 1000, new Sink());
+    }
+
+    /**
+     * Loads a player's state from disk, or reuses it if it is still cached. Blocks on disk, so call it
+     * from the async pre-login event or another async task only.
+     */
+    public void load(UUID playerId) {
+        states.compute(playerId, (id, state) -> {
+            PlayerState loaded = state != null ? state : read(id);
+            loaded.online = true;
+            return loaded;
+        });
+    }
+
+    /**
+     * @return the player's state, or null if it was not loaded (e.g. the pre-login load failed)
+     */
+    public PlayerState get(UUID playerId) {
+        return states.get(playerId);
+    }
+
+    /**
+     * Records that the player was shown the given version of a dialog.
+     */
+    public void markSeen(UUID playerId, String dialogId, int version) {
+        PlayerState state = states.get(playerId);
+        if (state == null) return;
+        if (state.update(dialogId, Math.max(version, state.seenVersion(dialogId)), state.acceptedVersion(dialogId))) {
+            writer.offer(playerId);
+        }
+    }
+
+    /**
+     * Records that the player accepted the given version of a dialog.
+     */
+    public void markAccepted(UUID playerId, String dialogId, int version) {
+        PlayerState state = states.get(playerId);
+        if (state == null) return;
+        int seen = Math.max(version, state.seenVersion(dialogId));
+        if (state.update(dialogId, seen, Math.max(version, state.acceptedVersion(dialogId)))) {
+            writer.offer(playerId);
+        }
+    }
+
+    /**
+     * Evicts the player's state after pending writes, unless they logged in again meanwhile.
+     */
+    public void unload(UUID playerId) {
+        PlayerState state = states.get(playerId);
+        if (state == null) return;
+        state.online = false;
+        writer.submit(() -> states.computeIfPresent(playerId, (id, s) -> s.online ? s : null));
+    }
+
+    /**
+     * Writes pending changes and stops the writer thread.
+     */
+    public void close() {
+        writer.close(10, TimeUnit.SECONDS);
+    }
+
+    private Path fileOf(UUID playerId) {
+        return folder.resolve(playerId + ".bin");
+    }
+
+    private PlayerState read(UUID playerId) {
+        Map<String, Long> versions = new HashMap<>();
+        Path file = fileOf(playerId);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int format = in.readInt();
+            if (format != FORMAT_VERSION) {
+                // Written by another version of the plugin; keep it for that version
+                logger.warning("Join state of " + playerId + " has unsupported format " + format
+                        + "; it is left untouched and not updated this session");
+                PlayerState state = new PlayerState(new HashMap<>());
+                state.readOnly = true;
+                return state;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                versions.put(in.readUTF(), in.readLong());
+            }
+        } catch (NoSuchFileException e) {
+            // First join
+        } catch (IOException e) {
+            return unreadable(playerId, file, e);
+        }
+        return new PlayerState(versions);
+    }
+
+    /**
+     * Moves a damaged file aside so the next write does not replace it, or keeps the state from
+     * being written at all if that fails too.
+     */
+    private PlayerState unreadable(UUID playerId, Path file, IOException cause) {
+        PlayerState state = new PlayerState(new HashMap<>());
+        Path corrupt = folder.resolve(playerId + ".bin.corrupt");
+        try {
+            Files.move(file, corrupt, StandardCopyOption.REPLACE_EXISTING);
+            logger.warning("Could not read join state of " + playerId + " (" + cause.getMessage()
+                    + "); moved it to " + corrupt.getFileName());
+        } catch (IOException e) {
+            logger.warning("Could not read join state of " + playerId + " (" + cause.getMessage()
+                    + "); it is left untouched and not updated this session");
+            state.readOnly = true;
+        }
+        return state;
+    }
+
+    private void write(UUID playerId, Map<String, Long> versions) throws IOException {
+        Files.createDirectories(folder);
+        Path file = fileOf(playerId);
+        Path temp = folder.resolve(playerId + ".bin.tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(versions.size());
+            for (Map.Entry<String, Long> entry : versions.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private class Sink implements BatchWriter.Sink<UUID> {
+        @Override
+        public void write(List<UUID> batch) {
+            // A player changed several times in one batch is written once
+            Set<UUID> players = new LinkedHashSet<>(batch);
+            for (UUID playerId : players) {
+                PlayerState state = states.get(playerId);
+                if (state == null || state.readOnly) continue;
+                try {
+                    JoinStateStore.this.write(playerId, state.snapshot());
+                } catch (IOException e) {
+                    logger.warning("Could not save join state of " + playerId + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package io.github.devbd1.CubDialogs.storage;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Appends submitted dialog forms to per-dialog JSON Lines logs under /responses/&lt;dialog id&gt;/.
+ *
+ * Records are queued from the server thread and written by a single background {@link BatchWriter}.
+ * The active file (current.jsonl) is rotated to a timestamped file once it grows past the size limit
+ * or gets older than the rotation interval. Memory is bounded by the writer's queue capacity.
+ *
+ * A batch that cannot be written is retried once with a reopened file and otherwise appended to
+ * current.jsonl.failed next to the log, so confirmed responses are not silently lost. Files of
+ * dialogs that stop receiving responses are closed after {@link #IDLE_CLOSE_MILLIS}.
+ */
+public class ResponseSink {
+    public static final String CURRENT_FILE = "current.jsonl";
+    // Responses that could not be appended to the log; not picked up by exports
+    public static final String FAILED_FILE = CURRENT_FILE + ".failed";
+    private static final long IDLE_CLOSE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final DateTimeFormatter ROTATED_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int STAMP_LENGTH = "yyyyMMdd-HHmmss".length();
+
+    /**
+     * Orders rotated logs oldest first: by timestamp, then by the "-N" suffix that rotations within
+     * the same second get. Plain name order would put "stamp-1" before "stamp" and "-10" before "-2".
+     */
+    public static final Comparator<Path> ROTATION_ORDER = Comparator
+            .comparing(ResponseSink::rotationStamp)
+            .thenComparingLong(ResponseSink::rotationSuffix)
+            .thenComparing(file -> file.getFileName().toString());
+
+    /**
+     * A single submitted form.
+     */
+    public record ResponseRecord(String dialogId, long timestamp, UUID playerId, String playerName,
+                                 Map<String, String> values) {
+    }
+
+    private final Logger logger;
+    private final Path root;
+    private final long rotateBytes;
+    private final long rotateMillis;
+    private final BatchWriter<ResponseRecord> writer;
+
+    // Writer-thread state
+    private final Map<String, OpenLog> open = new HashMap<>();
+
+    /**
+     * @param root               the /responses folder
+     * @param logger             plugin logger
+     * @param capacity           maximum number of records waiting to be written
+     * @param offerTimeoutMillis how long a submission may wait for queue space before being rejected
+     * @param rotateBytes        rotate once the active file reaches this size (0 disables)
+     * @param rotateMillis       rotate once the active file is older than this (0 disables)
+     */
+    public ResponseSink(Path root, Logger logger, int capacity, long offerTimeoutMillis,
+                        long rotateBytes, long rotateMillis) {
+        this.logger = logger;
+        this.root = root;
+        this.rotateBytes = rotateBytes;
+        this.rotateMillis = rotateMillis;
+        this.writer = new BatchWriter<>("CubDialogs-Responses", logger, capacity, 512,
+                offerTimeoutMillis, 1000, new Sink());
+    }
+
+    /**
+     * Queues a response for writing.
+     *
+     * @return false if the queue is full (backpressure) or the sink is closed
+     */
+    public boolean submit(ResponseRecord record) {
+        return writer.offer(record);
+    }
+
+    /**
+     * Blocks until every response queued so far is on disk.
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        return writer.flush(timeout, unit);
+    }
+
+    /**
+     * Writes everything still queued and closes all files.
+     */
+    public void close() {
+        writer.close(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Folder holding the logs of a dialog. Dialog ids may contain '/' for nested folders.
+     *
+     * @throws IllegalArgumentException if the id would escape the responses folder
+     */
+    public Path folderOf(String dialogId) {
+        Path folder = root.resolve(dialogId).normalize();
+        if (!folder.startsWith(root.normalize()) || folder.equals(root.normalize())) {
+            throw new IllegalArgumentException("Invalid dialog id for response log: " + dialogId);
+        }
+        return folder;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    // ─── Writer thread ───────────────────────────────────────────────────────
+
+    private static final class OpenLog {
+        final Path file;
+        final BufferedWriter out;
+        final long createdAt;
+        long bytes;
+        long lastWrite = System.currentTimeMillis();
+
+        OpenLog(Path file, BufferedWriter out, long createdAt, long bytes) {
+            this.file = file;
+            this.out = out;
+            this.createdAt = createdAt;
+            this.bytes = bytes;
+        }
+    }
+
+    private OpenLog logFor(String dialogId) throws IOException {
+        OpenLog log = open.get(dialogId);
+        if (log != null) {
+            return log;
+        }
+
+        Path folder = folderOf(dialogId);
+        Files.createDirectories(folder);
+        Path file = folder.resolve(CURRENT_FILE);
+
+        long createdAt = System.currentTimeMillis();
+        long bytes = 0;
+        if (Files.exists(file)) {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            createdAt = openedAt(file, attrs);
+            bytes = attrs.size();
+        }
+
+        BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        log = new OpenLog(file, out, createdAt, bytes);
+        open.put(dialogId, log);
+        return log;
+    }
+
+    /**
+     * When an existing log was started: the timestamp of its first record. Creation time is only a
+     * fallback, because filesystems without birth time report the last modification instead, and a
+     * log that keeps getting writes would then never reach the rotation interval.
+     */
+    private static long openedAt(Path file, BasicFileAttributes attrs) {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String first = in.readLine();
+            if (first != null && !first.isBlank()) {
+                JsonElement ts = JsonParser.parseString(first).getAsJsonObject().get("ts");
+                if (ts != null && ts.isJsonPrimitive()) {
+                    return ts.getAsLong();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Unreadable first record; fall through
+        }
+        return attrs.creationTime().toMillis();
+    }
+
+    private static String rotatedName(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".jsonl") ? name.substring(0, name.length() - ".jsonl".length()) : name;
+    }
+
+    private static String rotationStamp(Path file) {
+        String name = rotatedName(file);
+        return name.substring(0, Math.min(STAMP_LENGTH, name.length()));
+    }
+
+    private static long rotationSuffix(Path file) {
+        String name = rotatedName(file);
+        if (name.length() <= STAMP_LENGTH + 1 || name.charAt(STAMP_LENGTH) != '-') {
+            return 0;
+        }
+        try {
+            return Long.parseLong(name.substring(STAMP_LENGTH + 1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void rotate(String dialogId, OpenLog log) throws IOException {
+        open.remove(dialogId);
+        log.out.close();
+
+        String stamp = LocalDateTime.now(ZoneId.systemDefault()).format(ROTATED_NAME);
+        Path target = log.file.resolveSibling(stamp + ".jsonl");
+        for (int i = 1; Files.exists(target); i++) {
+            target = log.file.resolveSibling(stamp + "-" + i + ".jsonl");
+        }
+        Files.move(log.file, target);
+        logger.info("Rotated response log of " + dialogId + " to " + target.getFileName());
+    }
+
+    private boolean shouldRotate(OpenLog log, long now) {
+        if (log.bytes == 0) return false;
+        return (rotateBytes > 0 && log.bytes >= rotateBytes)
+                || (rotateMillis > 0 && now - log.createdAt >= rotateMillis);
+    }
+
+    private static String toLine(ResponseRecord record) {
+        JsonObject json = new JsonObject();
+        json.addProperty("ts", record.timestamp());
+        json.addProperty("player", record.playerId().toString());
+        if (record.playerName() != null) {
+            json.addProperty("name", record.playerName());
+        }
+        JsonObject values = new JsonObject();
+        record.values().forEach(values::addProperty);
+        json.add("values", values);
+        return json.toString();
+    }
+
+    /**
+     * Appends the lines to the dialog's log, rotating it when due.
+     *
+     * @return false if the log could not be written; it is closed so the next attempt reopens it
+     */
+    private boolean append(String dialogId, List<String> lines, long now) {
+        try {
+            OpenLog log = logFor(dialogId);
+            boolean rotationFailed = false;
+            for (String line : lines) {
+                if (!rotationFailed && shouldRotate(log, now)) {
+                    try {
+                        rotate(dialogId, log);
+                    } catch (IOException e) {
+                        // Keep appending to the current file; rotation is tried again on the next batch
+                        rotationFailed = true;
+                        logger.warning("Could not rotate response log of " + dialogId + ": " + e.getMessage());
+                    }
+                    log = logFor(dialogId);
+                }
+                log.out.write(line);
+                log.out.newLine();
+                // UTF-8 length estimate is good enough for a rotation threshold
+                log.bytes += line.length() + 1;
+            }
+            // One flush per file per batch
+            log.out.flush();
+            log.lastWrite = now;
+            return true;
+        } catch (IOException e) {
+            logger.warning("Could not write response log of " + dialogId + ": " + e.getMessage());
+            closeQuietly(dialogId);
+            return false;
+        }
+    }
+
+    /**
+     * Keeps lines that could not be appended to the log in {@link #FAILED_FILE}, or in the server
+     * log if even that fails.
+     */
+    private void spill(String dialogId, List<String> lines) {
+        Path failed = folderOf(dialogId).resolve(FAILED_FILE);
+        try {
+            Files.createDirectories(failed.getParent());
+            Files.write(failed, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            logger.warning("Saved " + lines.size() + " response(s) of " + dialogId + " to "
+                    + dialogId + "/" + FAILED_FILE + " instead");
+        } catch (IOException e) {
+            logger.severe("Could not save " + lines.size() + " response(s) of " + dialogId
+                    + " (" + e.getMessage() + "); they follow:");
+            lines.forEach(logger::severe);
+        }
+    }
+
+    private void closeQuietly(String dialogId) {
+        OpenLog log = open.remove(dialogId);
+        if (log == null) return;
+        try {
+            log.out.close();
+        } catch (IOException e) {
+            // The file is given up on either way
+        }
+    }
+
+    private void closeIdle(long now) {
+        for (Map.Entry<String, OpenLog> entry : List.copyOf(open.entrySet())) {
+            if (now - entry.getValue().lastWrite < IDLE_CLOSE_MILLIS) continue;
+            open.remove(entry.getKey());
+            try {
+                entry.getValue().out.close();
+            } catch (IOException e) {
+                logger.warning("Could not close response log of " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private class Sink implements BatchWriter.Sink<ResponseRecord> {
+        @Override
+        public void write(List<ResponseRecord> batch) {
+            long now = System.currentTimeMillis();
+
+            // Grouped per dialog so one failing log does not affect the others
+            Map<String, List<String>> lines = new LinkedHashMap<>();
+            for (ResponseRecord record : batch) {
+                try {
+                    folderOf(record.dialogId());
+                } catch (IllegalArgumentException e) {
+                    logger.warning(e.getMessage());
+                    continue;
+                }
+                lines.computeIfAbsent(record.dialogId(), id -> new ArrayList<>()).add(toLine(record));
+            }
+
+            for (Map.Entry<String, List<String>> entry : lines.entrySet()) {
+                if (!append(entry.getKey(), entry.getValue(), now)
+                        && !append(entry.getKey(), entry.getValue(), now)) {
+                    spill(entry.getKey(), entry.getValue());
+                }
+            }
+            closeIdle(now);
+        }
+
+        @Override
+        public void onIdle() throws IOException {
+            if (open.isEmpty()) return;
+            long now = System.currentTimeMillis();
+            closeIdle(now);
+            if (rotateMillis <= 0) return;
+            for (Map.Entry<String, OpenLog> entry : List.copyOf(open.entrySet())) {
+                if (shouldRotate(entry.getValue(), now)) {
+                    rotate(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (OpenLog log : open.values()) {
+                log.out.close();
+            }
+            open.clear();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.devbd1.CubDialogs.storage;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Remembers when each scheduled dialog last ran, so a restart does not fire the same run twice.
+ *
+ * The file is tiny and read once on startup; updates are written by a background
+ * {@link BatchWriter}, which replaces the whole file atomically after each batch.
+ */
+public final class ScheduleRunStore {
+
+    private record Run(String scheduleId, long time) {}
+
+    private final Logger logger;
+    private final Path file;
+    private final Path tempFile;
+    private final Map<String, Long> runs = new ConcurrentHashMap<>();
+    private final BatchWriter<Run> writer;
+
+    /**
+     * @param file   JSON file holding the last run time per schedule id
+     * @param logger plugin logger
+     */
+    public ScheduleRunStore(Path file, Logger logger) {
+        this.logger = logger;
+        this.file = file;
+        this.tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        load();
+        this.writer = new BatchWriter<>("CubDialogs-Schedules", logger, 1024, 256, 5, 1000, new Sink());
+    }
+
+    /**
+     * @return the time of the last recorded run in epoch milliseconds, or 0 if it never ran
+     */
+    public long lastRun(String scheduleId) {
+        Long time = runs.get(scheduleId);
+        return time != null ? time : 0L;
+    }
+
+    /**
+     * Records a run. The change is persisted asynchronously.
+     */
+    public void record(String scheduleId, long time) {
+        runs.put(scheduleId, time);
+        writer.offer(new Run(scheduleId, time));
+    }
+
+    /**
+     * Writes pending updates and stops the writer thread.
+     */
+    public void close() {
+        writer.close(5, TimeUnit.SECONDS);
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+            for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+                runs.put(entry.getKey(), entry.getValue().getAsLong());
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warning("Could not read " + file.getFileName() + ", schedules start fresh: " + e.getMessage());
+        }
+    }
+
+    private class Sink implements BatchWriter.Sink<Run> {
+        @Override
+        public void write(List<Run> batch) throws IOException {
+            // The batch is already applied to the map; write a sorted snapshot
+            JsonObject json = new JsonObject();
+            for (Map.Entry<String, Long> entry : new TreeMap<>(runs).entrySet()) {
+                json.addProperty(entry.getKey(), entry.getValue());
+            }
+
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (BufferedWriter out = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                out.write(json.toString());
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+}
@@ -30,6 +30,15 @@ public final class ConfigManager {
         config = plugin.getConfig();
     }
 
+    /**
+     * Re-reads config.yml from disk. The plugin replaces its configuration object on reload,
+     * so the cached reference is refreshed as well.
+     */
+    public static void reload() {
+        plugin.reloadConfig();
+        config = plugin.getConfig();
+    }
+
     /**
      * Logs the current configuration status to console.
      */
@@ -0,0 +1,67 @@
+package io.github.devbd1.CubDialogs.utilities;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts between configuration sections and plain maps, for code that merges dialog files.
+ * Plain maps are deep copies and never share nested maps or lists with the source.
+ */
+public final class ConfigMaps {
+    private ConfigMaps() {
+    }
+
+    /**
+     * Copies a section into nested maps and lists, keeping key order.
+     */
+    public static Map<String, Object> toMap(ConfigurationSection section) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (String key : section.getKeys(false)) {
+            map.put(key, plain(section.get(key)));
+        }
+        return map;
+    }
+
+    /**
+     * Deep copy of a value with sections turned into maps.
+     */
+    public static Object plain(Object value) {
+        if (value instanceof ConfigurationSection section) {
+            return toMap(section);
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                copy.put(String.valueOf(entry.getKey()), plain(entry.getValue()));
+            }
+            return copy;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object entry : list) copy.add(plain(entry));
+            return copy;
+        }
+        return value;
+    }
+
+    /**
+     * Builds a configuration from nested maps, as if it had been loaded from a file: maps become
+     * sections, maps inside lists stay maps.
+     */
+    public static YamlConfiguration toConfiguration(Map<String, Object> map) {
+        YamlConfiguration config = new YamlConfiguration();
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            if (entry.getValue() instanceof Map<?, ?> nested) {
+                config.createSection(entry.getKey(), nested);
+            } else {
+                config.set(entry.getKey(), entry.getValue());
+            }
+        }
+        return config;
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.devbd1.CubDialogs.utilities;
+
+import org.bukkit.configuration.Configuration;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Collects the placeholder templates of several steps (commands, messages, condition operands)
+ * so that they are resolved together: one call to {@link CommandPlaceholderUtility} and therefore
+ * one PlaceholderAPI pass per execution instead of one per template. Templates with a stray
+ * percent sign are resolved on their own.
+ */
+public final class PlaceholderBatch {
+    // Joins templates for the shared pass; placeholders never contain it
+    private static final String SEPARATOR = "\u0000";
+    private static final Pattern SPLIT = Pattern.compile(SEPARATOR, Pattern.LITERAL);
+
+    private final List<String> templates = new ArrayList<>();
+
+    /**
+     * Adds a template and returns its index into the array returned by {@link #resolve}.
+     */
+    public int add(String template) {
+        templates.add(template == null ? "" : template.replace(SEPARATOR, ""));
+        return templates.size() - 1;
+    }
+
+    public boolean isEmpty() {
+        return templates.isEmpty();
+    }
+
+    /**
+     * Resolves all templates for the player in a single pass. Templates whose percent signs
+     * do not pair up on their own (a literal {@code 50% off}, {@code 100%%}) are resolved
+     * separately so they cannot pair with a placeholder of the next template.
+     *
+     * @return resolved values, indexed as returned by {@link #add}
+     */
+    public String[] resolve(Player player, Configuration dialogRoot) {
+        String[] resolved = new String[templates.size()];
+        List<Integer> shared = new ArrayList<>();
+        for (int i = 0; i < resolved.length; i++) {
+            if (pairsOnItsOwn(templates.get(i))) {
+                shared.add(i);
+            } else {
+                resolved[i] = CommandPlaceholderUtility.resolveCommandPlaceholders(templates.get(i), player, dialogRoot);
+            }
+        }
+        if (shared.isEmpty()) {
+            return resolved;
+        }
+
+        List<String> joined = new ArrayList<>(shared.size());
+        for (int i : shared) {
+            joined.add(templates.get(i));
+        }
+        String[] parts = SPLIT.split(
+                CommandPlaceholderUtility.resolveCommandPlaceholders(String.join(SEPARATOR, joined), player, dialogRoot), -1);
+        boolean intact = parts.length == shared.size();
+        for (int j = 0; j < shared.size(); j++) {
+            int i = shared.get(j);
+            // A placeholder expansion swallowed or added a separator; fall back to resolving one by one
+            resolved[i] = intact
+                    ? parts[j]
+                    : CommandPlaceholderUtility.resolveCommandPlaceholders(templates.get(i), player, dialogRoot);
+        }
+        return resolved;
+    }
+
+    /**
+     * Whether every percent sign of the template is closed within it. An odd count leaves one open,
+     * and {@code %%} pairs differently depending on the PlaceholderAPI version, so both are kept
+     * out of the shared pass.
+     */
+    private static boolean pairsOnItsOwn(String template) {
+        int count = 0;
+        for (int i = 0; i < template.length(); i++) {
+            if (template.charAt(i) == '%') count++;
+        }
+        return count % 2 == 0 && !template.contains("%%");
+    }
+}
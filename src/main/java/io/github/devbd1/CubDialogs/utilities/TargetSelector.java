@@ -0,0 +1,128 @@
+package io.github.devbd1.CubDialogs.utilities;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Resolves player target selectors used by commands, schedules and the bulk open API.
+ *
+ * Supported forms (comma separated entries are combined, duplicates removed):
+ *   Steve            a single online player by exact name
+ *   @a               all online players
+ *   @a[perm=node]    online players with a permission (perm=!node for players without it)
+ *   @a[world=name]   online players in a world; filters can be combined: @a[world=spawn,perm=vip]
+ *
+ * Must be called on the server thread.
+ */
+public final class TargetSelector {
+    private TargetSelector() {}
+
+    /**
+     * @return true if the argument looks like a selector rather than a single player name
+     */
+    public static boolean isSelector(String arg) {
+        return arg != null && (arg.startsWith("@") || arg.indexOf(',') >= 0);
+    }
+
+    /**
+     * Resolves a selector to the matching online players.
+     *
+     * @throws IllegalArgumentException if the selector is malformed
+     */
+    public static List<Player> resolve(String selector) {
+        if (selector == null || selector.isBlank()) {
+            throw new IllegalArgumentException("Empty target selector");
+        }
+
+        Map<UUID, Player> result = new LinkedHashMap<>();
+        for (String entry : splitEntries(selector)) {
+            if (entry.isEmpty()) continue;
+
+            if (!entry.startsWith("@")) {
+                Player player = Bukkit.getPlayerExact(entry);
+                if (player != null) {
+                    result.putIfAbsent(player.getUniqueId(), player);
+                }
+                continue;
+            }
+
+            for (Player player : matchAll(entry)) {
+                result.putIfAbsent(player.getUniqueId(), player);
+            }
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    private static List<Player> matchAll(String entry) {
+        String lower = entry.toLowerCase(Locale.ROOT);
+        if (!lower.startsWith("@a")) {
+            throw new IllegalArgumentException("Unknown selector: " + entry + " (use @a or @a[...])");
+        }
+
+        String world = null;
+        String permission = null;
+        boolean negatePermission = false;
+
+        String rest = entry.substring(2).trim();
+        if (!rest.isEmpty()) {
+            if (!rest.startsWith("[") || !rest.endsWith("]")) {
+                throw new IllegalArgumentException("Malformed selector: " + entry);
+            }
+            for (String filter : rest.substring(1, rest.length() - 1).split(",")) {
+                String f = filter.trim();
+                if (f.isEmpty()) continue;
+                int eq = f.indexOf('=');
+                if (eq <= 0) {
+                    throw new IllegalArgumentException("Malformed selector filter: " + f);
+                }
+                String key = f.substring(0, eq).trim().toLowerCase(Locale.ROOT);
+                String value = f.substring(eq + 1).trim();
+                switch (key) {
+                    case "world" -> world = value;
+                    case "perm", "permission" -> {
+                        negatePermission = value.startsWith("!");
+                        permission = negatePermission ? value.substring(1) : value;
+                    }
+                    default -> throw new IllegalArgumentException("Unknown selector filter: " + key);
+                }
+            }
+        }
+
+        Collection<? extends Player> online = Bukkit.getOnlinePlayers();
+        List<Player> matches = new ArrayList<>(online.size());
+        for (Player player : online) {
+            if (world != null && !player.getWorld().getName().equalsIgnoreCase(world)) continue;
+            if (permission != null && player.hasPermission(permission) == negatePermission) continue;
+            matches.add(player);
+        }
+        return matches;
+    }
+
+    /**
+     * Splits on commas that are not inside [...] filters.
+     */
+    private static List<String> splitEntries(String selector) {
+        List<String> entries = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < selector.length(); i++) {
+            char c = selector.charAt(i);
+            if (c == '[') depth++;
+            else if (c == ']') depth--;
+            else if (c == ',' && depth == 0) {
+                entries.add(selector.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        entries.add(selector.substring(start).trim());
+        return entries;
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.devbd1.CubDialogs.utilities;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel. Items are bucketed by due time so that each advance only looks at the
+ * slots that passed, instead of scanning every scheduled item. Items further away than one
+ * revolution simply stay in their slot until a later pass finds them due.
+ * Resolution is one tick: an item fires on the first advance into the tick it is due in.
+ *
+ * Not thread-safe; intended to be driven from a single repeating task.
+ *
+ * @param <T> item type
+ */
+public final class TimerWheel<T> {
+
+    private record Entry<T>(T item, long dueMillis) {}
+
+    private final List<Entry<T>>[] slots;
+    private final long tickMillis;
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param slotCount  number of slots in one revolution
+     * @param tickMillis time covered by one slot
+     * @param nowMillis  current time, the wheel starts here
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(int slotCount, long tickMillis, long nowMillis) {
+        this.slots = new List[Math.max(1, slotCount)];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new ArrayList<>(2);
+        }
+        this.tickMillis = Math.max(1, tickMillis);
+        this.currentTick = nowMillis / this.tickMillis;
+    }
+
+    /**
+     * Schedules an item. Items due in the past fire on the next advance.
+     */
+    public void schedule(T item, long dueMillis) {
+        long tick = Math.max(dueMillis / tickMillis, currentTick + 1);
+        slots[(int) Math.floorMod(tick, (long) slots.length)].add(new Entry<>(item, dueMillis));
+        size++;
+    }
+
+    /**
+     * Moves the wheel to the given time and hands every item that is due to the consumer.
+     * The consumer may schedule new items.
+     */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        long target = nowMillis / tickMillis;
+        if (target <= currentTick) {
+            return;
+        }
+
+        // After a long pause one full revolution visits every slot
+        long steps = Math.min(target - currentTick, slots.length);
+        List<T> due = new ArrayList<>();
+        for (long i = 1; i <= steps; i++) {
+            List<Entry<T>> slot = slots[(int) Math.floorMod(currentTick + i, (long) slots.length)];
+            Iterator<Entry<T>> it = slot.iterator();
+            while (it.hasNext()) {
+                Entry<T> entry = it.next();
+                if (entry.dueMillis() / tickMillis <= target) {
+                    it.remove();
+                    size--;
+                    due.add(entry.item());
+                }
+            }
+        }
+        currentTick = target;
+
+        for (T item : due) {
+            expired.accept(item);
+        }
+    }
+
+    /**
+     * Removes all scheduled items.
+     */
+    public void clear() {
+        for (List<Entry<T>> slot : slots) {
+            slot.clear();
+        }
+        size = 0;
+    }
+
+    /**
+     * @return number of scheduled items
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,183 @@
+package io.github.devbd1.CubDialogs.utilities;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Compact open-addressing map keyed by UUID.
+ * Keys are stored as two longs per slot in a flat array, so no UUID or entry objects are retained.
+ *
+ * Not thread-safe; callers synchronize externally.
+ *
+ * @param <V> value type (null values are not supported)
+ */
+public final class UuidMap<V> {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;      // [msb0, lsb0, msb1, lsb1, ...]
+    private Object[] values;  // null marks a free slot
+    private int size;
+    private int mask;
+
+    public UuidMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public UuidMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public V get(UUID id) {
+        return get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long msb, long lsb) {
+        int slot = indexOf(msb, lsb);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    public boolean containsKey(UUID id) {
+        return indexOf(id.getMostSignificantBits(), id.getLeastSignificantBits()) >= 0;
+    }
+
+    /**
+     * @return the previous value, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V put(UUID id, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("UuidMap does not support null values");
+        }
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+
+        int slot = hash(msb, lsb) & mask;
+        while (values[slot] != null) {
+            if (keys[slot << 1] == msb && keys[(slot << 1) + 1] == lsb) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot << 1] = msb;
+        keys[(slot << 1) + 1] = lsb;
+        values[slot] = value;
+        if (++size > (mask + 1) * 3 / 4) {
+            rehash((mask + 1) << 1);
+        }
+        return null;
+    }
+
+    /**
+     * @return the removed value, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(UUID id) {
+        int slot = indexOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        deleteSlot(slot);
+        size--;
+        return previous;
+    }
+
+    public void clear() {
+        if (size == 0) return;
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<UUID, V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept(new UUID(keys[i << 1], keys[(i << 1) + 1]), (V) values[i]);
+            }
+        }
+    }
+
+    private int indexOf(long msb, long lsb) {
+        int slot = hash(msb, lsb) & mask;
+        while (values[slot] != null) {
+            if (keys[slot << 1] == msb && keys[(slot << 1) + 1] == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Backward-shift deletion keeps probe chains intact without tombstones.
+     */
+    private void deleteSlot(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (values[next] != null) {
+            int home = hash(keys[next << 1], keys[(next << 1) + 1]) & mask;
+            // Move the entry into the gap if its home slot is not between gap (exclusive) and next (inclusive)
+            boolean movable = gap <= next
+                    ? (home <= gap || home > next)
+                    : (home <= gap && home > next);
+            if (movable) {
+                keys[gap << 1] = keys[next << 1];
+                keys[(gap << 1) + 1] = keys[(next << 1) + 1];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[gap] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            Object value = oldValues[i];
+            if (value == null) continue;
+            long msb = oldKeys[i << 1];
+            long lsb = oldKeys[(i << 1) + 1];
+            int slot = hash(msb, lsb) & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot << 1] = msb;
+            keys[(slot << 1) + 1] = lsb;
+            values[slot] = value;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity << 1];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}